@@ -0,0 +1,68 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.LibraryManagementSystemApplication;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+
+/**
+ * Starts the application against an in-memory H2 database for benchmarks that exercise the service layer.
+ */
+final class BenchmarkApplication {
+    static final String JWT_SECRET_KEY = "bGlibWFuYWdlci1iZW5jaG1hcmstc2VjcmV0LWtleTE=";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--LibManager.security.jwt-secret-key=" + JWT_SECRET_KEY,
+                "--MAIL_USERNAME=benchmark@libmanager.local"
+        };
+        String[] allArgs = new String[args.length + extraArgs.length];
+        System.arraycopy(args, 0, allArgs, 0, args.length);
+        System.arraycopy(extraArgs, 0, allArgs, args.length, extraArgs.length);
+        return new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(allArgs);
+    }
+
+    /**
+     * Saves a patron and makes it the authenticated principal of every benchmark thread.
+     */
+    static User authenticatePatron(ConfigurableApplicationContext context, String emailAddress) {
+        User patron = savePatron(context, emailAddress);
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+        return patron;
+    }
+
+    static User savePatron(ConfigurableApplicationContext context, String emailAddress) {
+        User patron = new User();
+        patron.setFirstName("Bench");
+        patron.setLastName("Mark");
+        patron.setEmailAddress(emailAddress);
+        patron.setPassword("not-used");
+        patron.setRole(Role.PATRON);
+        patron.setIsEnabled(true);
+        return context.getBean(UserRepository.class).save(patron);
+    }
+}
@@ -0,0 +1,55 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.service.BorrowingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a full borrow and return cycle through BorrowingService against an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowReturnBenchmark {
+    private ConfigurableApplicationContext context;
+    private BorrowingService borrowingService;
+    private UUID bookId;
+    private UUID patronId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("borrow-return");
+        borrowingService = context.getBean(BorrowingService.class);
+
+        User patron = BenchmarkApplication.authenticatePatron(context, "bench@libmanager.local");
+        patronId = patron.getId();
+
+        Book book = new Book();
+        book.setTitle("Benchmark title");
+        book.setAuthor("Author");
+        book.setPublicationYear(2024L);
+        book.setIsbn("0000000000000");
+        bookId = context.getBean(BookRepository.class).save(book).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn(Blackhole blackhole) {
+        blackhole.consume(borrowingService.borrowBook(bookId, patronId));
+        blackhole.consume(borrowingService.returnBook(bookId, patronId));
+    }
+}
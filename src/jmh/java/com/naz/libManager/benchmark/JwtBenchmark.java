@@ -0,0 +1,48 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.service.serviceImplementation.JwtImplementation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token and of the verification JwtAuthenticationFilter performs on every request.
+ * A cache size of 0 disables the verified-claims cache, so every call parses and checks the HMAC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    @Param({"0", "10000"})
+    private long cacheSize;
+
+    private JwtImplementation jwtImplementation;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtImplementation = new JwtImplementation(BenchmarkApplication.JWT_SECRET_KEY, cacheSize);
+        claims = new HashMap<>();
+        claims.put("first_name", "Bench");
+        claims.put("last_name", "Mark");
+        token = jwtImplementation.generateJwtToken(claims, "bench@libmanager.local", null);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtImplementation.generateJwtToken(claims, "bench@libmanager.local", null);
+    }
+
+    @Benchmark
+    public void verify(Blackhole blackhole) {
+        blackhole.consume(jwtImplementation.isExpired(token));
+        blackhole.consume(jwtImplementation.extractEmailAddressFromToken(token));
+    }
+}
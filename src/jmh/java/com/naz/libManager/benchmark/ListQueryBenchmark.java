@@ -0,0 +1,128 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.mapper.BookMapper;
+import com.naz.libManager.mapper.UserMapper;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.UserData;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One page of the book and patron list endpoints read as entities and mapped, as before, against the
+ * constructor projections that select only the listed columns. Run with {@code -prof gc} to compare
+ * allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListQueryBenchmark {
+    private static final int ROWS = 2000;
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("list-query-" + pageSize);
+        bookRepository = context.getBean(BookRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        List<User> patrons = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            User patron = new User();
+            patron.setFirstName("First " + i);
+            patron.setLastName("Last " + i);
+            patron.setEmailAddress("patron" + i + "@libmanager.local");
+            patron.setPhoneNumber("0800000" + i);
+            patron.setPassword("not-used");
+            patron.setRole(Role.PATRON);
+            patrons.add(patron);
+        }
+        userRepository.saveAll(patrons);
+
+        List<Book> books = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Book book = new Book();
+            book.setTitle("Benchmark title " + i);
+            book.setAuthor("Author " + i);
+            book.setPublicationYear(2024L);
+            book.setIsbn("0000000000000");
+            books.add(book);
+        }
+        bookRepository.saveAll(books);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookData> bookEntities() {
+        return transactionTemplate.execute(status -> {
+            entityManager.createQuery("SELECT count(b) FROM books b WHERE b.available = true", Long.class)
+                    .getSingleResult();
+            return entityManager.createQuery("SELECT b FROM books b WHERE b.available = true " +
+                            "ORDER BY b.createdAt, b.id", Book.class)
+                    .setMaxResults(pageSize)
+                    .getResultStream()
+                    .map(book -> BookMapper.mapBookToBookData(book, new BookData()))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<BookData> bookProjection() {
+        return transactionTemplate.execute(status ->
+                bookRepository.findAvailableBookData(PageRequest.of(0, pageSize)));
+    }
+
+    @Benchmark
+    public List<UserData> patronEntities() {
+        return transactionTemplate.execute(status -> {
+            entityManager.createQuery("SELECT count(u) FROM users u " +
+                            "WHERE u.role = com.naz.libManager.enums.Role.PATRON", Long.class)
+                    .getSingleResult();
+            return entityManager.createQuery("SELECT u FROM users u " +
+                            "WHERE u.role = com.naz.libManager.enums.Role.PATRON ORDER BY u.id", User.class)
+                    .setMaxResults(pageSize)
+                    .getResultStream()
+                    .map(patron -> UserMapper.mapUserToUserData(new UserData(), patron))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<UserData> patronProjection() {
+        return transactionTemplate.execute(status ->
+                userRepository.findPatronData(PageRequest.of(0, pageSize)));
+    }
+}
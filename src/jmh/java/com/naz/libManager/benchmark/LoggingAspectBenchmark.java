@@ -0,0 +1,95 @@
+package com.naz.libManager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.naz.libManager.aspect.LoggingAspect;
+import com.naz.libManager.service.serviceImplementation.EmailImplementation;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost LoggingAspect adds to a service call, with every success logged or one in a hundred,
+ * writing to a discarding stream directly or through the async appender used in logback-spring.xml.
+ * The plain call is the baseline; sendMail is stubbed out, so the difference is the aspect and the appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+    @Param({"1", "100"})
+    private int successSampleRate;
+    @Param({"sync", "async"})
+    private String appender;
+
+    private EmailImplementation plain;
+    private EmailImplementation logged;
+    private Logger logger;
+    private Appender<ILoggingEvent> attached;
+
+    @Setup
+    public void setUp() {
+        plain = new EmailImplementation(null, null, null) {
+            @Override
+            public void sendMail(String message, String subject, String recipient) {
+            }
+        };
+        AspectJProxyFactory factory = new AspectJProxyFactory(plain);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(successSampleRate));
+        logged = factory.getProxy();
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level %pid --- [%15.15thread] %-40.40logger{39} : %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> discarding = new OutputStreamAppender<>();
+        discarding.setContext(context);
+        discarding.setEncoder(encoder);
+        discarding.setOutputStream(OutputStream.nullOutputStream());
+        discarding.start();
+        if(appender.equals("async")){
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.addAppender(discarding);
+            async.start();
+            attached = async;
+        } else{
+            attached = discarding;
+        }
+
+        logger = context.getLogger(LoggingAspect.class);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.addAppender(attached);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(true);
+    }
+
+    @Benchmark
+    public void plainCall() {
+        plain.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+    }
+
+    @Benchmark
+    public void loggedCall() {
+        logged.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+    }
+}
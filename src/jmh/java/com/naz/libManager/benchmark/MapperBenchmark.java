@@ -0,0 +1,79 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.mapper.BookMapper;
+import com.naz.libManager.mapper.UserMapper;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.UserData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of mapping a page of Book and User entities to the payloads returned by the book and patron endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private List<Book> books;
+    private List<User> patrons;
+
+    @Setup
+    public void setUp() {
+        books = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Book book = new Book();
+            book.setId(UUID.randomUUID());
+            book.setTitle("Benchmark title " + i);
+            book.setAuthor("Author " + i);
+            book.setPublicationYear(2000L + i % 25);
+            book.setIsbn(String.format("%013d", i));
+            books.add(book);
+        }
+        patrons = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User patron = new User();
+            patron.setId(UUID.randomUUID());
+            patron.setFirstName("First" + i);
+            patron.setLastName("Last" + i);
+            patron.setEmailAddress("patron" + i + "@libmanager.local");
+            patron.setRole(Role.PATRON);
+            patrons.add(patron);
+        }
+    }
+
+    @Benchmark
+    public List<BookData> mapBookData() {
+        return books.stream()
+                .map(book -> BookMapper.mapBookToBookData(book, new BookData()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookDetail> mapBookDetail() {
+        return books.stream()
+                .map(book -> BookMapper.mapBookToBookDetail(book, new BookDetail()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserData> mapUserData() {
+        return patrons.stream()
+                .map(patron -> UserMapper.mapUserToUserData(new UserData(), patron))
+                .collect(Collectors.toList());
+    }
+}
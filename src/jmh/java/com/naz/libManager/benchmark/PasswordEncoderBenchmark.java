@@ -0,0 +1,37 @@
+package com.naz.libManager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the BCrypt PasswordEncoder defined in SecurityConfiguration, paid on signup, login and password change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        encodedPassword = passwordEncoder.encode("Naza@123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("Naza@123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("Naza@123", encodedPassword);
+    }
+}
@@ -0,0 +1,141 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.service.BorrowingService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow and return throughput with 32 concurrent patrons, each borrowing and returning their own book, against a pool
+ * of 2 connections and one sized from the CPU count by DataSourcePoolConfiguration. Each iteration also reports
+ * the pool size, the connection wait time from the Hikari metrics and the requests that timed out waiting,
+ * so starvation shows as wait time and failures rather than only as lower throughput. Run with more threads through -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class PoolLoadBenchmark {
+    @Param({"2", "auto"})
+    private String poolSize;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingService borrowingService;
+
+    @Setup
+    public void setUp() {
+        String pool = poolSize.equals("auto")
+                ? "--LibManager.datasource.pool.auto-size=true"
+                : "--spring.datasource.hikari.maximum-pool-size=" + poolSize;
+        context = BenchmarkApplication.start("pool-load-" + poolSize, pool,
+                "--spring.datasource.hikari.connection-timeout=3000");
+        borrowingService = context.getBean(BorrowingService.class);
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_THREADLOCAL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * A patron with a book of their own, authenticated on the benchmark thread that owns it.
+     */
+    @State(Scope.Thread)
+    public static class Loan {
+        private UUID bookId;
+        private UUID patronId;
+        private boolean borrowed;
+
+        @Setup
+        public void setUp(PoolLoadBenchmark benchmark, ThreadParams threadParams) {
+            ConfigurableApplicationContext context = benchmark.context;
+            int thread = threadParams.getThreadIndex();
+            User patron = BenchmarkApplication.savePatron(context, "bench" + thread + "@libmanager.local");
+            patronId = patron.getId();
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+
+            Book book = new Book();
+            book.setTitle("Benchmark title " + thread);
+            book.setAuthor("Author");
+            book.setPublicationYear(2024L);
+            book.setIsbn(String.format("%013d", thread));
+            bookId = context.getBean(BookRepository.class).save(book).getId();
+        }
+    }
+
+    /**
+     * Counters JMH reports next to the throughput of each iteration, summed over the threads. Every thread counts
+     * its own failed requests; the Hikari figures are pool-wide, so only the first thread reports them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PoolCounters {
+        public long failedRequests;
+
+        private HikariDataSource dataSource;
+        private Timer acquire;
+        private long startCount;
+        private double startTime;
+
+        @Setup(Level.Iteration)
+        public void reset(PoolLoadBenchmark benchmark, ThreadParams threadParams) {
+            failedRequests = 0;
+            if(threadParams.getThreadIndex() == 0){
+                dataSource = benchmark.context.getBean(HikariDataSource.class);
+                acquire = benchmark.context.getBean(MeterRegistry.class).get("hikaricp.connections.acquire").timer();
+                startCount = acquire.count();
+                startTime = acquire.totalTime(TimeUnit.MILLISECONDS);
+            }
+        }
+
+        public int connections() {
+            return dataSource == null ? 0 : dataSource.getMaximumPoolSize();
+        }
+
+        public double connectionWaitMeanMs() {
+            long count = acquire == null ? 0 : acquire.count() - startCount;
+            return count == 0 ? 0 : (acquire.totalTime(TimeUnit.MILLISECONDS) - startTime) / count;
+        }
+
+        public double connectionWaitMaxMs() {
+            return acquire == null ? 0 : acquire.max(TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Borrows the patron's book if it is on the shelf and returns it otherwise. A request that gives up waiting
+     * for a connection is counted and retried on the next call instead of ending the run.
+     */
+    @Benchmark
+    public void borrowOrReturn(Loan loan, PoolCounters counters, Blackhole blackhole) {
+        try{
+            if(loan.borrowed){
+                blackhole.consume(borrowingService.returnBook(loan.bookId, loan.patronId));
+            } else{
+                blackhole.consume(borrowingService.borrowBook(loan.bookId, loan.patronId));
+            }
+            loan.borrowed = !loan.borrowed;
+        } catch(CannotCreateTransactionException e){
+            counters.failedRequests++;
+        }
+    }
+}
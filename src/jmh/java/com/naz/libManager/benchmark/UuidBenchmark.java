@@ -0,0 +1,73 @@
+package com.naz.libManager.benchmark;
+
+import com.naz.libManager.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Random (version 4) against time-ordered (version 7) primary keys: the cost of generating an id from
+ * several threads, and batched inserts into a UUID-keyed table in an in-memory H2 database that keeps
+ * growing across iterations. Index size at production row counts is measured on PostgreSQL with
+ * src/jmh/sql/uuid-index-size.sql.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    public String style;
+
+    private Supplier<UUID> generator;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        generator = "RANDOM".equals(style) ? UUID::randomUUID : UuidV7::generate;
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid_" + style + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE ids (id UUID PRIMARY KEY, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO ids (id) VALUES (?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID generate() {
+        return generator.get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, generator.get());
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+}
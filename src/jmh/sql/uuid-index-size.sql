@@ -0,0 +1,41 @@
+-- Compares insert time and primary key index size for random (version 4) and time-ordered (version 7)
+-- UUIDs on PostgreSQL. Run against a scratch database, e.g.
+--     psql -v rows=20000000 -f src/jmh/sql/uuid-index-size.sql
+-- Generation happens in the database so both tables pay the same client cost; uuid_v7() lays out the
+-- same bits as com.naz.libManager.util.UuidV7, with a random counter in place of the sequence counter.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 10000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+CREATE OR REPLACE FUNCTION uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                placing substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS ids_random;
+DROP TABLE IF EXISTS ids_time_ordered;
+CREATE TABLE ids_random (id uuid PRIMARY KEY, created_at timestamp NOT NULL DEFAULT now());
+CREATE TABLE ids_time_ordered (id uuid PRIMARY KEY, created_at timestamp NOT NULL DEFAULT now());
+
+INSERT INTO ids_random (id) SELECT gen_random_uuid() FROM generate_series(1, :rows);
+INSERT INTO ids_time_ordered (id) SELECT uuid_v7() FROM generate_series(1, :rows);
+
+VACUUM ANALYZE ids_random;
+VACUUM ANALYZE ids_time_ordered;
+
+SELECT indexrelname AS index,
+       pg_size_pretty(pg_relation_size(indexrelid)) AS size,
+       (pgstatindex(indexrelid::regclass)).avg_leaf_density AS leaf_density
+FROM pg_stat_user_indexes
+WHERE relname IN ('ids_random', 'ids_time_ordered');
@@ -1,58 +1,75 @@
 package com.naz.libManager.aspect;
 
+import com.naz.libManager.exception.LibManagerException;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
- * Aspect for logging method executions and performance monitoring*/
+ * Aspect for logging method executions. Timings are recorded by MetricsAspect.
+ * One advice logs each call once. Unexpected failures are always logged at ERROR with their stack trace. Successes
+ * and LibManagerExceptions, which are expected rejections of a request, are logged at INFO for one call in
+ * LibManager.logging.success-sample-rate.
+ * Signature strings are built once per join point. Log events are written by the async appender configured in
+ * logback-spring.xml: the calling thread still formats the message when the event is queued, but never waits
+ * on the console.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Map<JoinPoint.StaticPart, String> signatures = new ConcurrentHashMap<>();
+    private final int successSampleRate;
+
+    public LoggingAspect(@Value("${LibManager.logging.success-sample-rate:100}") int successSampleRate) {
+        this.successSampleRate = successSampleRate;
+    }
 
     @Pointcut("execution(* com.naz.libManager.service.serviceImplementation.BookServiceImplementation.addBook(..)) || " +
             "execution(* com.naz.libManager.service.serviceImplementation.BookServiceImplementation.updateBookDetail(..)) || " +
             "execution(* com.naz.libManager.service.serviceImplementation.BookServiceImplementation.removeBook(..)) || " +
             "execution(* com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation.borrowBook(..)) || " +
-            "execution(* com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation.returnBook(..))" +
-            "execution(* com.naz.libmanager.service.serviceImplementation.EmailImplementation.sendMail(..))"
+            "execution(* com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation.returnBook(..)) || " +
+            "execution(* com.naz.libManager.service.serviceImplementation.EmailImplementation.sendMail(..))"
     )
     private void publicMethodsFromLoggingPackage(){};
 
-    @Before(value = "publicMethodsFromLoggingPackage()")
-    public void logBefore(JoinPoint joinPoint){
-        logger.info("Method execution started: {}", joinPoint.getSignature());
-    }
-
-    @After(value = "publicMethodsFromLoggingPackage()")
-    public void logAfter(JoinPoint joinPoint){
-        logger.info("Method execution completed: {}", joinPoint.getSignature());
-    }
-    @AfterThrowing(value = "publicMethodsFromLoggingPackage()", throwing = "ex")
-    public void logException(JoinPoint joinPoint, Throwable ex){
-        logger.error("Exception in method {}: {}", joinPoint.getSignature(), ex.getMessage());
-    }
-
     @Around(value = "publicMethodsFromLoggingPackage()")
-    public Object logPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
+    public Object log(ProceedingJoinPoint joinPoint) throws Throwable {
         try {
             Object result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            logger.info("Method {} executed in {} ms", joinPoint.getSignature(), executionTime);
+            if(sampled() && logger.isInfoEnabled()){
+                logger.info("method={} outcome=SUCCESS", signature(joinPoint.getStaticPart()));
+            }
             return result;
-
-        } catch(Throwable throwable){
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            logger.error("Method {} threw an exception after {} ms: {}", joinPoint.getSignature(), executionTime, throwable.getMessage());
-            throw throwable;
+        } catch(LibManagerException ex){
+            if(sampled() && logger.isInfoEnabled()){
+                logger.info("method={} outcome=REJECTED message=\"{}\"", signature(joinPoint.getStaticPart()),
+                        ex.getMessage());
+            }
+            throw ex;
+        } catch(Throwable ex){
+            logger.error("method={} outcome=ERROR exception={} message=\"{}\"", signature(joinPoint.getStaticPart()),
+                    ex.getClass().getSimpleName(), ex.getMessage(), ex);
+            throw ex;
         }
     }
-}
\ No newline at end of file
+
+    private boolean sampled() {
+        return successSampleRate == 1
+                || (successSampleRate > 1 && ThreadLocalRandom.current().nextInt(successSampleRate) == 0);
+    }
+
+    private String signature(JoinPoint.StaticPart staticPart) {
+        return signatures.computeIfAbsent(staticPart, part -> part.getSignature().toShortString());
+    }
+}
@@ -0,0 +1,60 @@
+package com.naz.libManager.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect timing every public service method into the libmanager.service timer, tagged by class, method,
+ * outcome and exception. Percentiles, histogram buckets and SLO boundaries are set per meter name under
+ * management.metrics.distribution, so they can be tuned without touching the code.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+    static final String SERVICE_TIMER = "libmanager.service";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<JoinPoint.StaticPart, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Pointcut("execution(public * com.naz.libManager.service.serviceImplementation..*(..))")
+    private void serviceMethods(){}
+
+    @Around("serviceMethods()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try{
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(joinPoint.getStaticPart(), staticPart -> timer(staticPart, "SUCCESS", "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch(Throwable throwable){
+            timer(joinPoint.getStaticPart(), "ERROR", throwable.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;
+        }
+    }
+
+    private Timer timer(JoinPoint.StaticPart staticPart, String outcome, String exception) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Latency of service methods")
+                .tag("class", staticPart.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", staticPart.getSignature().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.naz.libManager.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reruns a transactional service method in a fresh transaction when it loses a concurrent update,
+ * after a randomised, exponentially growing pause. See RetryOnConflictAspect.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnConflict {
+    /**
+     * Attempts in total, including the first.
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * Upper bound of the pause before the first retry; it doubles for each further retry.
+     */
+    long backoffMillis() default 25;
+}
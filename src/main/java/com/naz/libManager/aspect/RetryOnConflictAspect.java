@@ -0,0 +1,85 @@
+package com.naz.libManager.aspect;
+
+import com.naz.libManager.exception.LibManagerException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspect retrying methods annotated with {@link RetryOnConflict} when they fail with a ConcurrencyFailureException:
+ * a stale optimistic lock version, a deadlock or a lock timeout. It runs outside the transaction, so every attempt
+ * starts a new one and rereads the rows it lost on. Pauses are drawn at random up to a doubling ceiling, so callers
+ * that collided once do not collide again in step. Called inside an existing transaction it does nothing, since only
+ * the outermost transaction can be rerun.
+ * Every conflict is counted in libmanager.conflicts, tagged by class, method and whether it was retried or exhausted;
+ * an exhausted method fails with a LibManagerException asking the user to try again.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+    static final String CONFLICT_COUNTER = "libmanager.conflicts";
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryOnConflictAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.naz.libManager.aspect.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if(TransactionSynchronizationManager.isActualTransactionActive()){
+            return joinPoint.proceed();
+        }
+        RetryOnConflict retryOnConflict = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(RetryOnConflict.class);
+        for(int attempt = 1; ; attempt++){
+            try{
+                return joinPoint.proceed();
+            } catch(ConcurrencyFailureException e){
+                if(attempt >= retryOnConflict.maxAttempts()){
+                    count(joinPoint, "exhausted");
+                    log.warn("method={} outcome=CONFLICT attempts={}", joinPoint.getSignature().toShortString(), attempt);
+                    throw new LibManagerException("This record was changed by another request. Please try again");
+                }
+                count(joinPoint, "retried");
+                try{
+                    Thread.sleep(backoff(attempt, retryOnConflict.backoffMillis()));
+                } catch(InterruptedException interrupted){
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * A pause drawn uniformly from zero to backoffMillis * 2^(attempt - 1).
+     */
+    static long backoff(int attempt, long backoffMillis) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void count(ProceedingJoinPoint joinPoint, String outcome) {
+        Counter.builder(CONFLICT_COUNTER)
+                .description("Concurrent update conflicts in service methods")
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,50 @@
+package com.naz.libManager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+/**
+ * Caffeine-backed cache manager with an individually sized, expiring cache per cached read.
+ * Only the caches registered here exist; a cache name used anywhere else fails fast instead of
+ * silently creating an unbounded cache. Every cache records hit, miss and eviction statistics.
+ */
+@Configuration
+public class CacheConfiguration {
+    public static final String BOOK_DETAIL = "bookDetail";
+    public static final String BOOK_PAGES = "bookPages";
+    public static final String PATRON_DETAIL = "patronDetail";
+    public static final String PATRON_PAGES = "patronPages";
+
+    /**
+     * Page sizes above this are served without caching, so large pages cannot crowd out the cache.
+     */
+    public static final int MAX_CACHED_PAGE_SIZE = 100;
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${LibManager.cache.book-detail:maximumSize=10000,expireAfterWrite=30m,expireAfterAccess=10m}") String bookDetail,
+            @Value("${LibManager.cache.book-pages:maximumSize=500,expireAfterWrite=5m,expireAfterAccess=1m}") String bookPages,
+            @Value("${LibManager.cache.patron-detail:maximumSize=5000,expireAfterWrite=10m,expireAfterAccess=5m}") String patronDetail,
+            @Value("${LibManager.cache.patron-pages:maximumSize=200,expireAfterWrite=5m,expireAfterAccess=1m}") String patronPages) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(Collections.emptyList());
+        cacheManager.registerCustomCache(BOOK_DETAIL, build(bookDetail));
+        cacheManager.registerCustomCache(BOOK_PAGES, build(bookPages));
+        cacheManager.registerCustomCache(PATRON_DETAIL, build(patronDetail));
+        cacheManager.registerCustomCache(PATRON_PAGES, build(patronPages));
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> build(String spec) {
+        return Caffeine.from(spec)
+                .recordStats()
+                .build();
+    }
+}
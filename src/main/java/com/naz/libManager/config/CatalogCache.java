@@ -0,0 +1,147 @@
+package com.naz.libManager.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.event.PatronChangedEvent;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.PatronDetail;
+import com.naz.libManager.payload.UserData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the book and patron payloads.
+ * Entries are stored as serialized JSON snapshots, so a cached value can never be mutated by a caller
+ * and never holds a reference to a managed entity. Entries are evicted once a change event's transaction
+ * commits; a value loaded while an eviction was in flight is returned but not cached.
+ * Misses are loaded from the primary database, and a value that could only be read from a read replica
+ * is returned but not cached, so a lagging replica never fills the cache shared by every patron.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final JavaType bookPageType;
+    private final JavaType patronPageType;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CatalogCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.bookPageType = objectMapper.getTypeFactory().constructCollectionType(List.class, BookData.class);
+        this.patronPageType = objectMapper.getTypeFactory().constructCollectionType(List.class, UserData.class);
+    }
+
+    public BookDetail getBookDetail(UUID bookId, Supplier<BookDetail> loader) {
+        return read(CacheConfiguration.BOOK_DETAIL, bookId,
+                objectMapper.constructType(BookDetail.class), loader);
+    }
+
+    public List<BookData> getBookPage(int pageNumber, int pageSize, Supplier<List<BookData>> loader) {
+        if (pageSize > CacheConfiguration.MAX_CACHED_PAGE_SIZE) {
+            return loader.get();
+        }
+        return read(CacheConfiguration.BOOK_PAGES, pageNumber + ":" + pageSize, bookPageType, loader);
+    }
+
+    public PatronDetail getPatronDetail(UUID patronId, Supplier<PatronDetail> loader) {
+        return read(CacheConfiguration.PATRON_DETAIL, patronId,
+                objectMapper.constructType(PatronDetail.class), loader);
+    }
+
+    public List<UserData> getPatronPage(int pageNumber, int pageSize, Supplier<List<UserData>> loader) {
+        if (pageSize > CacheConfiguration.MAX_CACHED_PAGE_SIZE) {
+            return loader.get();
+        }
+        return read(CacheConfiguration.PATRON_PAGES, pageNumber + ":" + pageSize, patronPageType, loader);
+    }
+
+    /**
+     * Evicts the detail of the changed book and every cached book page, since adding or removing
+     * an available book shifts the contents of all the pages after it.
+     * Patron details list the title and author of each loan, and the cache does not know which patrons
+     * have the book on loan, so all of them are evicted too.
+     * Runs before the response cache is evicted for the same event.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.bookId() != null) {
+            evict(CacheConfiguration.BOOK_DETAIL, event.bookId());
+        }
+        clear(CacheConfiguration.BOOK_PAGES);
+        clear(CacheConfiguration.PATRON_DETAIL);
+    }
+
+    /**
+     * Evicts the detail of the changed patron and every cached patron page.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatronChanged(PatronChangedEvent event) {
+        if (event.patronId() != null) {
+            evict(CacheConfiguration.PATRON_DETAIL, event.patronId());
+        }
+        clear(CacheConfiguration.PATRON_PAGES);
+    }
+
+    private <T> T read(String cacheName, Object key, JavaType type, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        byte[] snapshot = cache.get(key, byte[].class);
+        if (snapshot != null) {
+            try {
+                return objectMapper.readValue(snapshot, type);
+            } catch (IOException e) {
+                log.warn("Discarding unreadable {} cache entry for {}", cacheName, key, e);
+                cache.evict(key);
+            }
+        }
+
+        long generation = generation(cacheName).get();
+        T value = ReplicaRoutingDataSource.readFromPrimary(loader);
+        if (ReplicaRoutingDataSource.isCurrentTransactionOnReplica()) {
+            return value;
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            if (generation(cacheName).get() == generation) {
+                cache.put(key, bytes);
+                if (generation(cacheName).get() != generation) {
+                    cache.evict(key);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not cache {} entry for {}", cacheName, key, e);
+        }
+        return value;
+    }
+
+    private void evict(String cacheName, Object key) {
+        generation(cacheName).incrementAndGet();
+        cacheManager.getCache(cacheName).evict(key);
+    }
+
+    private void clear(String cacheName) {
+        generation(cacheName).incrementAndGet();
+        cacheManager.getCache(cacheName).clear();
+    }
+
+    private AtomicLong generation(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+}
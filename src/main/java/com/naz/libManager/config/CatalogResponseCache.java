@@ -0,0 +1,146 @@
+package com.naz.libManager.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.exception.LibManagerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the finished JSON bodies of the hot book reads, bounded by their total size in bytes.
+ * A hit is written to the response as-is with its ETag, without going through Jackson again,
+ * and a request whose If-None-Match carries the current ETag is answered with 304 Not Modified.
+ * Entries are evicted by the same BookChangedEvent that evicts {@link CatalogCache}, after it;
+ * like there, a body rendered while an eviction was in flight is returned but not cached, and a miss is
+ * rendered from a read of the primary database.
+ */
+@Component
+public class CatalogResponseCache {
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CachedResponse> bookDetails;
+    private final Cache<String, CachedResponse> bookPages;
+    private final AtomicLong bookDetailGeneration = new AtomicLong();
+    private final AtomicLong bookPageGeneration = new AtomicLong();
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                @Value("${LibManager.cache.response.maximum-size:16MB}") DataSize maximumSize,
+                                @Value("${LibManager.cache.response.ttl:5m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.bookDetails = build(maximumSize.toBytes() / 2, ttl);
+        this.bookPages = build(maximumSize.toBytes() / 2, ttl);
+    }
+
+    private static <K> Cache<K, CachedResponse> build(long maximumWeight, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((K key, CachedResponse response) -> response.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Responds with the cached body of a book detail, rendering and caching it on a miss.
+     *
+     * @param bookId     The UUID of the book
+     * @param webRequest The current request, checked for a matching If-None-Match
+     * @param body       Produces the response body on a miss
+     * @return The JSON response, or null once the response has been set to 304 Not Modified
+     */
+    public ResponseEntity<byte[]> bookDetail(UUID bookId, WebRequest webRequest, Supplier<Object> body) {
+        CachedResponse response = bookDetails.getIfPresent(bookId);
+        if (response == null) {
+            long generation = bookDetailGeneration.get();
+            response = render(ReplicaRoutingDataSource.readFromPrimary(body));
+            if (bookDetailGeneration.get() == generation && !ReplicaRoutingDataSource.isCurrentTransactionOnReplica()) {
+                bookDetails.put(bookId, response);
+                if (bookDetailGeneration.get() != generation) {
+                    bookDetails.invalidate(bookId);
+                }
+            }
+        }
+        return respond(response, webRequest);
+    }
+
+    /**
+     * Responds with the cached body of a book page, rendering and caching it on a miss.
+     * Pages larger than {@link CacheConfiguration#MAX_CACHED_PAGE_SIZE} are rendered but not cached.
+     *
+     * @param pageNumber The page number
+     * @param pageSize   The size of the page
+     * @param webRequest The current request, checked for a matching If-None-Match
+     * @param body       Produces the response body on a miss
+     * @return The JSON response, or null once the response has been set to 304 Not Modified
+     */
+    public ResponseEntity<byte[]> bookPage(int pageNumber, int pageSize, WebRequest webRequest, Supplier<Object> body) {
+        if (pageSize > CacheConfiguration.MAX_CACHED_PAGE_SIZE) {
+            return respond(render(body.get()), webRequest);
+        }
+        String key = pageNumber + ":" + pageSize;
+        CachedResponse response = bookPages.getIfPresent(key);
+        if (response == null) {
+            long generation = bookPageGeneration.get();
+            response = render(ReplicaRoutingDataSource.readFromPrimary(body));
+            if (bookPageGeneration.get() == generation && !ReplicaRoutingDataSource.isCurrentTransactionOnReplica()) {
+                bookPages.put(key, response);
+                if (bookPageGeneration.get() != generation) {
+                    bookPages.invalidate(key);
+                }
+            }
+        }
+        return respond(response, webRequest);
+    }
+
+    /**
+     * Evicts the rendered detail of the changed book and every rendered book page.
+     * Runs after {@link CatalogCache#onBookChanged(BookChangedEvent)}, so a body rendered after this
+     * eviction is never built from a stale payload.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookDetailGeneration.incrementAndGet();
+        bookPageGeneration.incrementAndGet();
+        if (event.bookId() != null) {
+            bookDetails.invalidate(event.bookId());
+        }
+        bookPages.invalidateAll();
+    }
+
+    private CachedResponse render(Object body) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return new CachedResponse(bytes, "\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new LibManagerException("Could not render response");
+        }
+    }
+
+    private static ResponseEntity<byte[]> respond(CachedResponse response, WebRequest webRequest) {
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag())
+                .body(response.body());
+    }
+
+    private record CachedResponse(byte[] body, String etag) {
+    }
+}
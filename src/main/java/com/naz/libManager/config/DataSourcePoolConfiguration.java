@@ -0,0 +1,45 @@
+package com.naz.libManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool from the number of CPUs when LibManager.datasource.pool.auto-size is set,
+ * as it is in the prod profile. The pool gets (cores * 2) + effective spindles connections, the usual
+ * starting point for PostgreSQL, capped by LibManager.datasource.pool.max-size, the share of the database's
+ * max_connections one instance may take. Requests beyond the pool wait for a connection rather than add
+ * contention on the database; how long they wait is the hikaricp.connections.acquire timer.
+ * Every pool without an explicit maximum-pool-size is sized this way and made fixed size.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "LibManager.datasource.pool.auto-size", havingValue = "true")
+public class DataSourcePoolConfiguration {
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof HikariDataSource dataSource && dataSource.getMaximumPoolSize() < 1){
+                    int size = poolSize(Runtime.getRuntime().availableProcessors(),
+                            environment.getProperty("LibManager.datasource.pool.effective-spindles", Integer.class, 1),
+                            environment.getProperty("LibManager.datasource.pool.max-size", Integer.class, 50));
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    log.info("Sized connection pool {} to {} connections",
+                            dataSource.getPoolName() != null ? dataSource.getPoolName() : beanName, size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSize(int cores, int effectiveSpindles, int maxSize) {
+        return Math.max(2, Math.min(cores * 2 + effectiveSpindles, maxSize));
+    }
+}
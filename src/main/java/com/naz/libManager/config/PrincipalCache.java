@@ -0,0 +1,96 @@
+package com.naz.libManager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.event.PrincipalChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of authenticated users keyed by email address.
+ * Lets the JWT filter resolve the principal of repeat requests without querying the users table.
+ * Entries are invalidated once the transaction of a {@link PrincipalChangedEvent} commits, so a request
+ * running alongside the change can never cache the row as it was before it.
+ * Misses are loaded outside the cache's own locking, because Caffeine computes under a synchronized map bin and a
+ * JDBC call there would pin a virtual thread's carrier. A load that overlaps an invalidation is not kept.
+ * Callers receive a copy of the cached user, so a request that modifies its principal never changes what other
+ * requests of the same user see.
+ */
+@Component
+public class PrincipalCache {
+    private final Cache<String, User> principals;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(@Value("${LibManager.security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${LibManager.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the cached user for the email address, loading and caching it on a miss.
+     *
+     * @param emailAddress The email address of the user
+     * @param loader       Loads the user from the database; may throw if the user does not exist
+     * @return A detached copy of the cached or freshly loaded user
+     */
+    public User get(String emailAddress, Function<String, User> loader) {
+        User user = principals.getIfPresent(emailAddress);
+        if (user == null) {
+            long loadedAt = generation.get();
+            user = loader.apply(emailAddress);
+            if (generation.get() == loadedAt) {
+                principals.put(emailAddress, user);
+                if (generation.get() != loadedAt) {
+                    principals.invalidate(emailAddress);
+                }
+            }
+        }
+        return copyOf(user);
+    }
+
+    /**
+     * Evicts the cached user for the email address.
+     *
+     * @param emailAddress The email address of the user
+     */
+    public void invalidate(String emailAddress) {
+        if (emailAddress != null) {
+            generation.incrementAndGet();
+            principals.invalidate(emailAddress);
+        }
+    }
+
+    /**
+     * Evicts the changed user once their change has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        invalidate(event.emailAddress());
+    }
+
+    private static User copyOf(User cached) {
+        User user = new User();
+        user.setId(cached.getId());
+        user.setCreatedAt(cached.getCreatedAt());
+        user.setUpdatedAt(cached.getUpdatedAt());
+        user.setVersion(cached.getVersion());
+        user.setFirstName(cached.getFirstName());
+        user.setLastName(cached.getLastName());
+        user.setEmailAddress(cached.getEmailAddress());
+        user.setPhoneNumber(cached.getPhoneNumber());
+        user.setPassword(cached.getPassword());
+        user.setRole(cached.getRole());
+        user.setIsEnabled(cached.getIsEnabled());
+        user.setPasswordRecovery(cached.getPasswordRecovery());
+        return user;
+    }
+}
@@ -0,0 +1,83 @@
+package com.naz.libManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits reads from writes when LibManager.datasource.replica.jdbc-url is set.
+ * The primary pool is still configured by spring.datasource.*, the replica pool by LibManager.datasource.replica.*
+ * (any Hikari setting, e.g. maximum-pool-size) on top of the primary's connection settings, and {@code @Transactional(readOnly = true)} work goes to the replica.
+ * Without the property the application keeps the single auto-configured datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "LibManager.datasource.replica.jdbc-url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * The replica pool starts from the primary's connection settings (auto-commit, timeouts, leak detection and
+     * driver data-source properties such as the statement cache), so reads run under the same assumptions on
+     * either pool. Any of them set under LibManager.datasource.replica.* takes precedence. The URL, credentials
+     * and pool size are not copied.
+     */
+    @Bean
+    @ConfigurationProperties("libmanager.datasource.replica")
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primary) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setAutoCommit(primary.isAutoCommit());
+        replica.setConnectionTimeout(primary.getConnectionTimeout());
+        replica.setValidationTimeout(primary.getValidationTimeout());
+        replica.setIdleTimeout(primary.getIdleTimeout());
+        replica.setMaxLifetime(primary.getMaxLifetime());
+        replica.setKeepaliveTime(primary.getKeepaliveTime());
+        replica.setLeakDetectionThreshold(primary.getLeakDetectionThreshold());
+        replica.setDataSourceProperties(primary.getDataSourceProperties());
+        replica.setPoolName("LibManagerReplicaPool");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${LibManager.datasource.replica.pin-window:5s}") Duration pinWindow,
+            @Value("${LibManager.datasource.replica.maximum-pinned:10000}") long maximumPinned) {
+        return new ReplicaRoutingDataSource(primary, replica, pinWindow, maximumPinned);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Hands the connection back after every transaction, so each transaction of a request picks its own pool
+     * instead of keeping the one the open EntityManager first used.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,121 @@
+package com.naz.libManager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.event.PatronChangedEvent;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Routes the connections of read-only transactions to the replica pool and all others to the primary.
+ * A patron whose own borrow or return committed within the pin window keeps reading from the primary,
+ * so a lagging replica never shows them the state from before their change. Reads that fill a shared cache
+ * run through {@link #readFromPrimary(Supplier)}, since a lagging entry would be served to every patron,
+ * pinned or not, until it expires.
+ * Must be used behind a {@link LazyConnectionDataSourceProxy}: the transaction manager asks for a connection
+ * before it marks the transaction read-only, and the proxy defers the lookup until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final Object ROUTE = new Object();
+
+    private final Cache<UUID, Boolean> pinnedPatrons;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration pinWindow, long maximumPinned) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.pinnedPatrons = Caffeine.newBuilder()
+                .maximumSize(maximumPinned)
+                .expireAfterWrite(pinWindow)
+                .build();
+    }
+
+    /**
+     * Sends the reads of a patron to the primary for the pin window.
+     *
+     * @param patronId The UUID of the patron
+     */
+    public void pinToPrimary(UUID patronId) {
+        pinnedPatrons.put(patronId, Boolean.TRUE);
+    }
+
+    /**
+     * Runs a read with every connection it opens taken from the primary. A transaction started inside it
+     * reads the primary throughout; a transaction already reading the replica keeps its connection,
+     * which {@link #isCurrentTransactionOnReplica()} reports.
+     *
+     * @param reader The read to run
+     * @return The result of the read
+     */
+    public static <T> T readFromPrimary(Supplier<T> reader) {
+        boolean outer = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try{
+            return reader.get();
+        } finally{
+            if(!outer){
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * @return true if the current transaction took its connection from the replica
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.getResource(ROUTE) == Target.REPLICA;
+    }
+
+    /**
+     * Pins a patron to the primary once their borrow, return or other change has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatronChanged(PatronChangedEvent event) {
+        if(event.patronId() != null){
+            pinToPrimary(event.patronId());
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        if(TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(ROUTE) == null){
+            TransactionSynchronizationManager.bindResource(ROUTE, target);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ROUTE);
+                }
+            });
+        }
+        return target;
+    }
+
+    private Target route() {
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_READS.get()){
+            return Target.PRIMARY;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication != null && authentication.getPrincipal() instanceof User user
+                && user.getId() != null && pinnedPatrons.getIfPresent(user.getId()) != null){
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
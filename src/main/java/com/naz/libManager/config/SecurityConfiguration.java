@@ -17,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @RequiredArgsConstructor
 public class SecurityConfiguration {
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
@@ -30,9 +31,9 @@ public class SecurityConfiguration {
 
     @Bean
     public UserDetailsService userDetailsService(){
-        return username -> userRepository.findByEmailAddress(username).orElseThrow(
+        return username -> principalCache.get(username, email -> userRepository.findByEmailAddress(email).orElseThrow(
                 () -> new UsernameNotFoundException("User not found")
-        );
+        ));
     }
 
     @Bean
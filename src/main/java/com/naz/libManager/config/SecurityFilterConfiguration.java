@@ -1,18 +1,27 @@
 package com.naz.libManager.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -27,9 +36,44 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityFilterConfiguration {
+    static final String SCRAPER_ROLE = "METRICS_SCRAPER";
+
     private final JwtAuthenticationFilter jwtFilterConfiguration;
     private final AuthenticationProvider authenticationProvider;
     private final LogoutConfiguration logoutConfiguration;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Guards the Prometheus scrape endpoint with HTTP Basic credentials of its own, checked against
+     * LibManager.metrics.scrape-username and scrape-password only, so the scraper needs neither a user account
+     * nor a token and no user account can scrape. Every scrape is refused while no password is set.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain scrapeFilterChain(HttpSecurity httpSecurity,
+                                                 @Value("${LibManager.metrics.scrape-username:prometheus}") String username,
+                                                 @Value("${LibManager.metrics.scrape-password:}") String password)
+            throws Exception {
+        InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+        if(!password.isBlank()){
+            scrapers.createUser(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles(SCRAPER_ROLE)
+                    .build());
+        }
+        DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider();
+        scraperProvider.setUserDetailsService(scrapers);
+        scraperProvider.setPasswordEncoder(passwordEncoder);
+
+        httpSecurity
+                .securityMatcher(new AntPathRequestMatcher("/actuator/prometheus"))
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(requests -> requests.anyRequest().hasRole(SCRAPER_ROLE))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(scraperProvider))
+                .sessionManagement(sessionManager -> sessionManager.sessionCreationPolicy(STATELESS));
+        return httpSecurity.build();
+    }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
@@ -47,7 +91,8 @@ public class SecurityFilterConfiguration {
                                 "/swagger-resources",
                                 "/v2/api-docs",
                                 "/v3/api-docs",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                "/actuator/health/**"
                         ).permitAll()
                 )
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -0,0 +1,36 @@
+package com.naz.libManager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports which threads serve requests.
+ * With spring.threads.virtual.enabled=true on Java 21 or later, Spring Boot runs Tomcat request handling,
+ * the application task executor and the task scheduler (which drives the mail outbox dispatcher) on
+ * virtual threads. On older runtimes the property has no effect, which is logged here rather than
+ * silently ignored.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfiguration {
+    private static final int VIRTUAL_THREADS_FEATURE_VERSION = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if(!virtualThreadsEnabled){
+            log.info("Serving requests on platform threads");
+        } else if(javaVersion < VIRTUAL_THREADS_FEATURE_VERSION){
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; " +
+                    "serving requests on platform threads", javaVersion);
+        } else{
+            log.info("Serving requests, scheduled and async tasks on virtual threads");
+        }
+    }
+}
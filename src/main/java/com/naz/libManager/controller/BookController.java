@@ -1,17 +1,27 @@
 package com.naz.libManager.controller;
 
+import com.naz.libManager.config.CatalogResponseCache;
 import com.naz.libManager.dto.BookRequest;
 import com.naz.libManager.payload.ApiResponse;
 import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.CursorPage;
+import com.naz.libManager.payload.ImportResult;
+import com.naz.libManager.service.BookImportService;
 import com.naz.libManager.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +35,22 @@ import java.util.UUID;
 )
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final CatalogResponseCache catalogResponseCache;
+
+    /**
+     * Documents the JSON body of the cached book page endpoint, which is served as pre-rendered bytes.
+     */
+    @Schema(name = "BookPageResponse")
+    static class BookPageResponse extends ApiResponse<List<BookData>> {
+    }
+
+    /**
+     * Documents the JSON body of the cached book detail endpoint, which is served as pre-rendered bytes.
+     */
+    @Schema(name = "BookDetailResponse")
+    static class BookDetailResponse extends ApiResponse<BookDetail> {
+    }
 
     @PostMapping("/books")
     @Operation(summary = "create book",
@@ -33,19 +59,52 @@ public class BookController {
         return ResponseEntity.ok(bookService.addBook(bookRequest).getBody());
     }
 
+    @PostMapping(value = "/books/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "import books",
+            description = "Allows an admin to add books in bulk from a CSV file with a title,author,publicationYear,isbn " +
+                    "header or from newline-delimited JSON, reporting the rows that could not be added")
+    public ResponseEntity<ApiResponse<ImportResult>> importBooks(InputStream body,
+                                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType){
+        return ResponseEntity.ok(bookImportService.importBooks(body, contentType).getBody());
+    }
+
     @GetMapping("/books")
     @Operation(summary = "get books",
             description = "retrieves a list of all books available")
-    public ResponseEntity<ApiResponse<List<BookData>>> getBooks(@RequestParam(defaultValue = "0") Integer page,
-                                                                @RequestParam(defaultValue = "10") Integer size){
-        return ResponseEntity.ok(bookService.getAllBooks(page, size).getBody());
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BookPageResponse.class)))
+    public ResponseEntity<byte[]> getBooks(@RequestParam(defaultValue = "0") Integer page,
+                                           @RequestParam(defaultValue = "10") Integer size,
+                                           WebRequest webRequest){
+        return catalogResponseCache.bookPage(page, size, webRequest,
+                () -> bookService.getAllBooks(page, size).getBody());
+    }
+
+    @GetMapping("/books/scroll")
+    @Operation(summary = "scroll books",
+            description = "retrieves available books in creation order, one slice per continuation token")
+    public ResponseEntity<ApiResponse<CursorPage<BookData>>> scrollBooks(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "10") Integer size){
+        return ResponseEntity.ok(bookService.scrollBooks(cursor, size).getBody());
+    }
+
+    @GetMapping("/books/search")
+    @Operation(summary = "search books",
+            description = "searches available books by words or word prefixes of their title and author")
+    public ResponseEntity<ApiResponse<List<BookData>>> searchBooks(@RequestParam String query,
+                                                                   @RequestParam(defaultValue = "0") Integer page,
+                                                                   @RequestParam(defaultValue = "10") Integer size){
+        return ResponseEntity.ok(bookService.searchBooks(query, page, size).getBody());
     }
 
     @GetMapping("/books/{id}")
     @Operation(summary = "get book details",
             description = "retrieves the details of a particular book")
-    public ResponseEntity<ApiResponse<BookDetail>> getBookDetail(@PathVariable UUID id){
-        return ResponseEntity.ok(bookService.viewBookDetail(id).getBody());
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BookDetailResponse.class)))
+    public ResponseEntity<byte[]> getBookDetail(@PathVariable UUID id, WebRequest webRequest){
+        return catalogResponseCache.bookDetail(id, webRequest,
+                () -> bookService.viewBookDetail(id).getBody());
     }
 
     @PutMapping("/books/{id}")
@@ -1,6 +1,8 @@
 package com.naz.libManager.controller;
 
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.CursorPage;
 import com.naz.libManager.service.BorrowingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,4 +37,22 @@ public class BorrowController {
     public ResponseEntity<ApiResponse<String>> returnBook(@PathVariable UUID bookId, @PathVariable UUID patronId){
         return ResponseEntity.ok(borrowingService.returnBook(bookId, patronId).getBody());
     }
+
+    @GetMapping("/patrons/{patronId}/borrow-history")
+    @Operation(summary = "patron borrow history",
+            description = "retrieves the books a patron has borrowed, most recent first, one slice per continuation token")
+    public ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getPatronHistory(@PathVariable UUID patronId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(defaultValue = "10") Integer size){
+        return ResponseEntity.ok(borrowingService.getPatronHistory(patronId, cursor, size).getBody());
+    }
+
+    @GetMapping("/books/{bookId}/borrow-history")
+    @Operation(summary = "book circulation history",
+            description = "Allows an admin to retrieve the loans of a book, most recent first, one slice per continuation token")
+    public ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getBookHistory(@PathVariable UUID bookId,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(defaultValue = "10") Integer size){
+        return ResponseEntity.ok(borrowingService.getBookHistory(bookId, cursor, size).getBody());
+    }
 }
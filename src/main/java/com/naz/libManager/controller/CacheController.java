@@ -0,0 +1,32 @@
+package com.naz.libManager.controller;
+
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.CacheStatistics;
+import com.naz.libManager.service.CacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(
+        name = "Caches",
+        description = "REST APIs for monitoring the application caches in LibManager"
+)
+public class CacheController {
+    private final CacheService cacheService;
+
+    @GetMapping("/caches")
+    @Operation(summary = "Get cache statistics",
+            description = "Retrieve the size, hit, miss and eviction counts of every cache")
+    public ResponseEntity<ApiResponse<List<CacheStatistics>>> getCacheStatistics(){
+        return cacheService.getCacheStatistics();
+    }
+}
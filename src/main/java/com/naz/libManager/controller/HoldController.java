@@ -0,0 +1,45 @@
+package com.naz.libManager.controller;
+
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.HoldData;
+import com.naz.libManager.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(
+        name = "Hold endpoint",
+        description = "REST APIs for queueing for borrowed books"
+)
+public class HoldController {
+    private final HoldService holdService;
+
+    @PostMapping("/books/{bookId}/holds")
+    @Operation(summary = "place hold",
+            description = "Allows a patron to queue for a borrowed book; they are emailed when it is ready for pickup")
+    public ResponseEntity<ApiResponse<String>> placeHold(@PathVariable UUID bookId){
+        return ResponseEntity.ok(holdService.placeHold(bookId).getBody());
+    }
+
+    @GetMapping("/holds")
+    @Operation(summary = "view holds",
+            description = "retrieves the active holds of a patron with their place in each queue")
+    public ResponseEntity<ApiResponse<List<HoldData>>> getHolds(){
+        return ResponseEntity.ok(holdService.getHolds().getBody());
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "cancel hold",
+            description = "Allows a patron to cancel a hold")
+    public ResponseEntity<ApiResponse<String>> cancelHold(@PathVariable UUID holdId){
+        return ResponseEntity.ok(holdService.cancelHold(holdId).getBody());
+    }
+}
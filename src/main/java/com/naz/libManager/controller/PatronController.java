@@ -36,9 +36,11 @@ public class PatronController {
 
     @GetMapping("/patrons/{id}")
     @Operation(summary = "Get patron details",
-            description = "Retrieve details of a specific patron by ID")
-    public ResponseEntity<ApiResponse<PatronDetail>> getPatronDetail(@PathVariable UUID id){
-        return ResponseEntity.ok(patronService.viewPatronDetail(id).getBody());
+            description = "Retrieve details of a specific patron by ID, with one page of the books they currently hold")
+    public ResponseEntity<ApiResponse<PatronDetail>> getPatronDetail(@PathVariable UUID id,
+                                                                     @RequestParam(defaultValue = "0") Integer page,
+                                                                     @RequestParam(defaultValue = "10") Integer size){
+        return ResponseEntity.ok(patronService.viewPatronDetail(id, page, size).getBody());
     }
 
     @PutMapping("/patrons/{id}")
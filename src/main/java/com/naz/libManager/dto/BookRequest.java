@@ -15,5 +15,8 @@ public record BookRequest(@NotBlank(message = "Title is required")
                           @NotBlank(message = "ISBN is required")
                           @Size(min = 10, max = 13, message = "ISBN must be between 10 and 13 characters")
                           @Pattern(regexp = "\\d{10,13}", message = "ISBN must contain only digits")
-                          String isbn) {
+                          String isbn,
+
+                          @Positive(message = "Copies must be at least 1")
+                          Integer copies) {
 }
@@ -2,9 +2,22 @@ package com.naz.libManager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
+/**
+ * A title in the catalogue and the copies of it the library owns. Copies are counted rather than
+ * stored one per row: borrowing and returning change availableCopies with one conditional update,
+ * and {@code available} is kept true while at least one copy is on the shelf for the list indexes.
+ * Loans of the copies are recorded in the borrow ledger.
+ * <p>
+ * Updates are dynamic so saving edited details never writes back counts read before a concurrent borrow.
+ */
 @Entity(name = "books")
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "book_available_created_at_id_idx", columnList = "available, created_at, id")
+})
+@DynamicUpdate
 @Getter
 @Setter
 @ToString
@@ -22,11 +35,11 @@ public class Book extends BaseEntity{
 
     private Boolean available = true;
 
-    @ManyToOne
-    @JoinColumn(
-            name = "user_id",
-            referencedColumnName = "id",
-            foreignKey = @ForeignKey(name = "book_user_fkey")
-    )
-    private User borrower = null;
+    @ColumnDefault("1")
+    @Column(name = "total_copies", nullable = false)
+    private Integer totalCopies = 1;
+
+    @ColumnDefault("1")
+    @Column(name = "available_copies", nullable = false)
+    private Integer availableCopies = 1;
 }
@@ -3,16 +3,27 @@ package com.naz.libManager.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * One loan in the borrow ledger. A record is written when a book is borrowed and closed when it is returned;
+ * its book, patron and borrow time never change afterwards, so a book's and a patron's history stay queryable.
+ * <p>
+ * While the loan is open {@code openBookId} repeats the book id and is cleared on return. Its unique index with
+ * the patron only holds open loans, so a patron's loan of a book is a single index lookup however often the book
+ * has circulated, and a patron can never have two copies of the same book on loan.
+ */
 @Entity(name = "book_records")
-@Table(name = "book_records")
+@Table(name = "book_records", indexes = {
+        @Index(name = "record_book_history_idx", columnList = "book_id, borrowed_at, id"),
+        @Index(name = "record_patron_history_idx", columnList = "patron_id, borrowed_at, id"),
+        @Index(name = "record_open_loan_idx", columnList = "patron_id, open_book_id", unique = true)
+})
 @Getter
 @Setter
 @ToString
@@ -20,28 +31,42 @@ import java.util.UUID;
 @NoArgsConstructor
 public class BookRecord{
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator(style = UuidGenerator.Style.RANDOM)
+    @TimeOrderedUuid
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(
             name = "book_id",
             referencedColumnName = "id",
+            updatable = false,
             foreignKey = @ForeignKey(name = "record_book_fkey")
     )
+    @OnDelete(action = OnDeleteAction.SET_NULL)
     private Book book = null;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(
+            name = "patron_id",
+            referencedColumnName = "id",
+            updatable = false,
+            foreignKey = @ForeignKey(name = "record_patron_fkey")
+    )
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private User patron = null;
+
     @CreationTimestamp
     @CreatedDate
     @Column(name = "borrowed_at", updatable = false)
     private LocalDateTime borrowedAt;
 
-    @UpdateTimestamp
-    @LastModifiedDate
     @Column(name = "returned_at")
     private LocalDateTime returnedAt;
 
     private Boolean returned = false;
 
+    @Column(name = "open_book_id")
+    private UUID openBookId;
+
 }
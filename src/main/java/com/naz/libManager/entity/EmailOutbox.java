@@ -0,0 +1,40 @@
+package com.naz.libManager.entity;
+
+import com.naz.libManager.enums.MailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "email_outbox")
+@Table(name = "email_outbox", indexes = @Index(
+        name = "email_outbox_status_next_attempt_at_idx",
+        columnList = "status, next_attempt_at"
+))
+@Getter
+@Setter
+@ToString(exclude = "body")
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailOutbox extends BaseEntity{
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MailStatus status = MailStatus.PENDING;
+
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,66 @@
+package com.naz.libManager.entity;
+
+import com.naz.libManager.enums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A patron's place in the queue for a book. A hold waits until the book is returned, is then READY for
+ * its patron alone until the pickup deadline, and ends fulfilled, expired or cancelled.
+ * <p>
+ * {@code active} is true while the hold is waiting or ready and null afterwards, so the unique index on
+ * (book_id, patron_id, active) allows one active hold per patron and book but any number of past ones.
+ */
+@Entity(name = "holds")
+@Table(name = "holds", indexes = {
+        @Index(name = "hold_book_status_created_at_idx", columnList = "book_id, status, created_at"),
+        @Index(name = "hold_status_expires_at_idx", columnList = "status, expires_at"),
+        @Index(name = "hold_patron_active_idx", columnList = "patron_id, active"),
+        @Index(name = "hold_active_book_patron_idx", columnList = "book_id, patron_id, active", unique = true)
+})
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class Hold extends BaseEntity{
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(
+            name = "book_id",
+            referencedColumnName = "id",
+            nullable = false,
+            updatable = false,
+            foreignKey = @ForeignKey(name = "hold_book_fkey")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(
+            name = "patron_id",
+            referencedColumnName = "id",
+            nullable = false,
+            updatable = false,
+            foreignKey = @ForeignKey(name = "hold_patron_fkey")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User patron;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status = HoldStatus.WAITING;
+
+    private Boolean active = true;
+
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -6,10 +6,8 @@ import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 
 @Entity(name = "users")
 @Table(name = "users")
@@ -32,9 +30,6 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "password")
     private String password;
 
-    @OneToMany(mappedBy = "borrower", cascade = CascadeType.ALL)
-    private List<Book> borrowedBooks = new ArrayList<>();
-
     @Column(name = "role")
     private Role role;
 
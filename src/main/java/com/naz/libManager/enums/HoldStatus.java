@@ -0,0 +1,9 @@
+package com.naz.libManager.enums;
+
+public enum HoldStatus {
+    WAITING,
+    READY,
+    FULFILLED,
+    EXPIRED,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package com.naz.libManager.enums;
+
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
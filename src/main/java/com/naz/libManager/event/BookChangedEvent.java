@@ -0,0 +1,11 @@
+package com.naz.libManager.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a book is added, imported, updated, borrowed, returned or removed.
+ *
+ * @param bookId The UUID of the changed book, or null when several books were added at once
+ */
+public record BookChangedEvent(UUID bookId) {
+}
@@ -0,0 +1,11 @@
+package com.naz.libManager.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a patron signs up, changes their details, borrows or returns a book, or is removed.
+ *
+ * @param patronId The UUID of the changed patron, or null when only patron listings are affected
+ */
+public record PatronChangedEvent(UUID patronId) {
+}
@@ -0,0 +1,9 @@
+package com.naz.libManager.event;
+
+/**
+ * Published when a user's password, verification or recovery status or email address changes, or the user is removed.
+ *
+ * @param emailAddress The email address the user was authenticated with before the change
+ */
+public record PrincipalChangedEvent(String emailAddress) {
+}
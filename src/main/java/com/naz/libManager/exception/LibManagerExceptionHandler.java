@@ -4,7 +4,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.naz.libManager.payload.ApiResponse;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -23,12 +26,25 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @RestControllerAdvice
 public class LibManagerExceptionHandler extends ResponseEntityExceptionHandler {
+    private static final Pattern VARIABLE_PART = Pattern.compile("'[^']*'|\\d+");
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public LibManagerExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @ExceptionHandler(LibManagerException.class)
     public ResponseEntity<ApiResponse<String>> handleLibManagerException(LibManagerException exception){
+        meterRegistry.ifAvailable(registry -> Counter.builder("libmanager.exceptions")
+                .description("LibManagerExceptions returned to clients, by message")
+                .tag("reason", reason(exception.getMessage()))
+                .register(registry)
+                .increment());
         ApiResponse<String> response = new ApiResponse<>(
                 exception.getMessage(),
                 HttpStatus.BAD_REQUEST);
@@ -133,4 +149,12 @@ public class LibManagerExceptionHandler extends ResponseEntityExceptionHandler {
         response.setStatusCode(status.value());
         return new ResponseEntity<>(response, response.getStatus());
     }
+
+    /**
+     * Reduces an exception message to its message class for use as a metric tag, replacing quoted values
+     * and numbers so that messages carrying request data cannot grow the number of series.
+     */
+    static String reason(String message) {
+        return message == null ? "none" : VARIABLE_PART.matcher(message).replaceAll("_");
+    }
 }
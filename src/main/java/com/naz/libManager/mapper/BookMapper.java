@@ -11,6 +11,10 @@ public class BookMapper {
         book.setAuthor(bookRequest.author());
         book.setPublicationYear(bookRequest.publicationYear());
         book.setIsbn(bookRequest.isbn());
+        if(book.getId() == null && bookRequest.copies() != null){
+            book.setTotalCopies(bookRequest.copies());
+            book.setAvailableCopies(bookRequest.copies());
+        }
         return book;
     }
 
@@ -26,7 +30,8 @@ public class BookMapper {
         bookdetail.setPublicationYear(book.getPublicationYear());
         bookdetail.setIsbn(book.getIsbn());
         bookdetail.setAvailable(book.getAvailable());
-        bookdetail.setBorrower(book.getBorrower());
+        bookdetail.setTotalCopies(book.getTotalCopies());
+        bookdetail.setAvailableCopies(book.getAvailableCopies());
         return bookdetail;
     }
 }
@@ -0,0 +1,19 @@
+package com.naz.libManager.mapper;
+
+import com.naz.libManager.entity.BookRecord;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.UserData;
+
+public class RecordMapper {
+    public static BorrowRecordData mapRecordToBorrowRecordData(BookRecord bookRecord, BorrowRecordData recordData){
+        recordData.setBook(bookRecord.getBook() == null ? null
+                : BookMapper.mapBookToBookData(bookRecord.getBook(), new BookData()));
+        recordData.setPatron(bookRecord.getPatron() == null ? null
+                : UserMapper.mapUserToUserData(new UserData(), bookRecord.getPatron()));
+        recordData.setBorrowedAt(bookRecord.getBorrowedAt());
+        recordData.setReturnedAt(bookRecord.getReturnedAt());
+        recordData.setReturned(bookRecord.getReturned());
+        return recordData;
+    }
+}
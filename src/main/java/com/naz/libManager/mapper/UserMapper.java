@@ -2,9 +2,12 @@ package com.naz.libManager.mapper;
 
 import com.naz.libManager.dto.UserRequest;
 import com.naz.libManager.entity.User;
+import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.PatronDetail;
 import com.naz.libManager.payload.UserData;
 
+import java.util.List;
+
 public class UserMapper {
     public static User mapUserRequestToUser(User user, UserRequest userRequest){
         user.setFirstName(userRequest.lastName());
@@ -22,12 +25,12 @@ public class UserMapper {
         return userData;
     }
 
-    public static PatronDetail mapUserToPatronDetail(PatronDetail patronDetail, User user){
+    public static PatronDetail mapUserToPatronDetail(PatronDetail patronDetail, User user, List<BookData> booksBorrowed){
         patronDetail.setFirstName(user.getFirstName());
         patronDetail.setLastName(user.getLastName());
         patronDetail.setEmailAddress(user.getEmailAddress());
         patronDetail.setPhoneNumber(user.getPhoneNumber());
-        patronDetail.setBooksBorrowed(user.getBorrowedBooks());
+        patronDetail.setBooksBorrowed(booksBorrowed);
         return patronDetail;
     }
 
@@ -1,6 +1,5 @@
 package com.naz.libManager.payload;
 
-import com.naz.libManager.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,5 +15,6 @@ public class BookDetail {
     private Long publicationYear;
     private String isbn;
     private Boolean available;
-    private User borrower;
+    private Integer totalCopies;
+    private Integer availableCopies;
 }
@@ -0,0 +1,20 @@
+package com.naz.libManager.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowRecordData {
+    private BookData book;
+    private UserData patron;
+    private LocalDateTime borrowedAt;
+    private LocalDateTime returnedAt;
+    private Boolean returned;
+}
@@ -0,0 +1,24 @@
+package com.naz.libManager.payload;
+
+import com.naz.libManager.enums.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldData {
+    private UUID id;
+    private UUID bookId;
+    private String title;
+    private String author;
+    private HoldStatus status;
+    private Long position;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.naz.libManager.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+    private long row;
+    private String title;
+    private String message;
+}
@@ -0,0 +1,31 @@
+package com.naz.libManager.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    /**
+     * Only the first failures are listed, so a badly formed file cannot produce an unbounded response.
+     */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+    private long failed;
+    private List<ImportError> errors = new ArrayList<>();
+
+    public void addError(long row, String title, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportError(row, title, message));
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.naz.libManager.payload;
 
-import com.naz.libManager.entity.Book;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,5 +16,5 @@ public class PatronDetail {
     private String lastName;
     private String emailAddress;
     private String phoneNumber;
-    private List<Book> booksBorrowed;
+    private List<BookData> booksBorrowed;
 }
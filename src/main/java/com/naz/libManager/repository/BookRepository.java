@@ -1,20 +1,90 @@
 package com.naz.libManager.repository;
 
 import com.naz.libManager.entity.Book;
-import org.springframework.data.domain.Page;
+import com.naz.libManager.payload.BookData;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, UUID> {
-//    @Query("SELECT b FROM books b WHERE b.available = true GROUP BY b.title")
-    Page<Book> findAllByAvailableTrue(Pageable pageable);
-    @Query("SELECT b FROM books b WHERE (b.author LIKE %?1% OR b.title LIKE %?2%) AND b.available = true")
-    Page<Book> findByAuthorOrTitleAndAvailableTrue(String author, String title, Pageable pageable);
-}
+    /**
+     * A page of available books selected straight into BookData, in the order of the
+     * (available, created_at, id) index, without loading Book entities or counting the catalog.
+     */
+    @Query("SELECT new com.naz.libManager.payload.BookData(b.title, b.author) FROM books b " +
+            "WHERE b.available = true ORDER BY b.createdAt, b.id")
+    List<BookData> findAvailableBookData(Pageable pageable);
+
+    Slice<Book> findByAvailableTrueOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+    @Query("SELECT b FROM books b WHERE b.available = true AND (b.createdAt, b.id) > (:createdAt, :id) " +
+            "ORDER BY b.createdAt, b.id")
+    Slice<Book> findAvailableAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                   Pageable pageable);
+
+    /**
+     * A batch of books after the given id in id order, read by seeking the primary key index instead of
+     * skipping the rows of the earlier batches.
+     */
+    @Query("SELECT b FROM books b WHERE b.id > :id ORDER BY b.id")
+    List<Book> findAfter(@Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Takes a copy of a book off the shelf with a single conditional update, so concurrent borrowers
+     * of a title never need to read the count first and at most availableCopies of them succeed.
+     */
+    @Modifying
+    @Query("UPDATE books b SET b.availableCopies = b.availableCopies - 1, " +
+            "b.available = CASE WHEN b.availableCopies > 1 THEN true ELSE false END, b.version = b.version + 1, " +
+            "b.updatedAt = LOCAL DATETIME " +
+            "WHERE b.id = :bookId AND b.availableCopies > 0")
+    int claimCopy(@Param("bookId") UUID bookId);
 
+    /**
+     * Puts a copy of a book back on the shelf.
+     */
+    @Modifying
+    @Query("UPDATE books b SET b.availableCopies = b.availableCopies + 1, b.available = true, " +
+            "b.version = b.version + 1, b.updatedAt = LOCAL DATETIME WHERE b.id = :bookId AND b.availableCopies < b.totalCopies")
+    int releaseCopy(@Param("bookId") UUID bookId);
 
+    /**
+     * Changes the number of copies of a book, adding or removing shelved copies only.
+     * Nothing is changed if more copies are on loan or reserved than would remain.
+     */
+    @Modifying
+    @Query("UPDATE books b SET b.totalCopies = :copies, " +
+            "b.availableCopies = b.availableCopies + :copies - b.totalCopies, " +
+            "b.available = CASE WHEN b.availableCopies + :copies - b.totalCopies > 0 THEN true ELSE false END, " +
+            "b.version = b.version + 1, b.updatedAt = LOCAL DATETIME " +
+            "WHERE b.id = :bookId AND b.availableCopies + :copies - b.totalCopies >= 0")
+    int updateCopies(@Param("bookId") UUID bookId, @Param("copies") int copies);
+
+    @Query("SELECT b.available FROM books b WHERE b.id = :id")
+    Boolean isAvailable(@Param("id") UUID id);
+
+    /**
+     * Locks the row of a book. A hold is placed under this lock, so it waits for a return in progress
+     * and either sees the returned copy on the shelf or is seen by the hand-off.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM books b WHERE b.id = :id")
+    Optional<Book> lockById(@Param("id") UUID id);
+
+    @Query("SELECT b.title FROM books b WHERE b.title IN :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+}
@@ -0,0 +1,39 @@
+package com.naz.libManager.repository;
+
+import com.naz.libManager.entity.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+    /**
+     * Locks the next batch of due mail: pending mail whose next attempt is due, and mail whose send lease has run
+     * out. Rows already locked by another dispatcher are skipped (a lock timeout of -2 is rendered as SKIP LOCKED),
+     * so several instances can dispatch concurrently.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM email_outbox m WHERE m.status IN (com.naz.libManager.enums.MailStatus.PENDING, " +
+            "com.naz.libManager.enums.MailStatus.SENDING) AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<EmailOutbox> lockDueMail(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Deletes sent and failed mail last updated before the given time.
+     */
+    @Modifying
+    @Query("DELETE FROM email_outbox m WHERE m.status IN (com.naz.libManager.enums.MailStatus.SENT, " +
+            "com.naz.libManager.enums.MailStatus.FAILED) AND m.updatedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,75 @@
+package com.naz.libManager.repository;
+
+import com.naz.libManager.entity.Hold;
+import com.naz.libManager.enums.HoldStatus;
+import com.naz.libManager.payload.HoldData;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State changes are single conditional updates, so a pickup, a cancellation and the expiry of the same hold
+ * cannot both succeed. Only the queue head is read with a lock, and it skips rows locked by those updates.
+ */
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+    boolean existsByBookIdAndPatronIdAndActiveTrue(UUID bookId, UUID patronId);
+
+    /**
+     * Locks the head of the queue for a book, skipping holds another transaction is already changing
+     * (a lock timeout of -2 is rendered as SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT h FROM holds h WHERE h.book.id = :bookId AND h.status = com.naz.libManager.enums.HoldStatus.WAITING " +
+            "ORDER BY h.createdAt, h.id")
+    List<Hold> lockQueueHead(@Param("bookId") UUID bookId, Pageable pageable);
+
+    /**
+     * Ready holds whose pickup deadline has passed, with their book ids, read from the (status, expires_at) index.
+     */
+    @Query("SELECT h FROM holds h JOIN FETCH h.book WHERE h.status = com.naz.libManager.enums.HoldStatus.READY " +
+            "AND h.expiresAt < :now ORDER BY h.expiresAt")
+    List<Hold> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE holds h SET h.status = com.naz.libManager.enums.HoldStatus.FULFILLED, h.active = null, " +
+            "h.version = h.version + 1, h.updatedAt = LOCAL DATETIME " +
+            "WHERE h.book.id = :bookId AND h.patron.id = :patronId " +
+            "AND h.status = com.naz.libManager.enums.HoldStatus.READY AND h.expiresAt > :now")
+    int fulfil(@Param("bookId") UUID bookId, @Param("patronId") UUID patronId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE holds h SET h.status = com.naz.libManager.enums.HoldStatus.EXPIRED, h.active = null, " +
+            "h.version = h.version + 1, h.updatedAt = LOCAL DATETIME WHERE h.id = :holdId " +
+            "AND h.status = com.naz.libManager.enums.HoldStatus.READY AND h.expiresAt < :now")
+    int expire(@Param("holdId") UUID holdId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE holds h SET h.status = com.naz.libManager.enums.HoldStatus.CANCELLED, h.active = null, " +
+            "h.version = h.version + 1, h.updatedAt = LOCAL DATETIME WHERE h.id = :holdId AND h.status = :status")
+    int cancel(@Param("holdId") UUID holdId, @Param("status") HoldStatus status);
+
+    List<Hold> findByPatronIdAndActiveTrue(UUID patronId);
+
+    /**
+     * The active holds of a patron with the number of waiting holds queued ahead of each, in one statement.
+     */
+    @Query("SELECT new com.naz.libManager.payload.HoldData(h.id, b.id, b.title, b.author, h.status, " +
+            "(SELECT count(w) FROM holds w WHERE w.book = h.book " +
+            "AND w.status = com.naz.libManager.enums.HoldStatus.WAITING " +
+            "AND (w.createdAt < h.createdAt OR (w.createdAt = h.createdAt AND w.id < h.id))), h.expiresAt) " +
+            "FROM holds h JOIN h.book b WHERE h.patron.id = :patronId AND h.active = true ORDER BY h.createdAt")
+    List<HoldData> findActiveHoldData(@Param("patronId") UUID patronId);
+}
@@ -1,14 +1,80 @@
 package com.naz.libManager.repository;
 
 
-import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.BookRecord;
+import com.naz.libManager.payload.BookData;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Repository
 public interface RecordRepository extends JpaRepository<BookRecord, UUID> {
-    BookRecord findByBook(Book book);
+    /**
+     * The open loan of a book by a patron, read from the unique (patron_id, open_book_id) index.
+     */
+    BookRecord findByPatronIdAndOpenBookId(UUID patronId, UUID bookId);
+
+    boolean existsByPatronIdAndOpenBookId(UUID patronId, UUID bookId);
+
+    boolean existsByPatronIdAndOpenBookIdNotNull(UUID patronId);
+
+    boolean existsByBookIdAndPatronId(UUID bookId, UUID patronId);
+
+    /**
+     * Closes an open loan. Returns 0 if a concurrent return closed it first, so a copy is only put back once.
+     */
+    @Modifying
+    @Query("UPDATE book_records r SET r.returned = true, r.returnedAt = :now, r.openBookId = null " +
+            "WHERE r.id = :id AND r.openBookId IS NOT NULL")
+    int closeLoan(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Books currently borrowed by a patron, selected straight into BookData from the (patron_id, open_book_id) index.
+     */
+    @Query("SELECT new com.naz.libManager.payload.BookData(b.title, b.author) FROM book_records r JOIN r.book b " +
+            "WHERE r.patron.id = :patronId AND r.openBookId IS NOT NULL ORDER BY b.title, b.id")
+    Slice<BookData> findCurrentLoans(@Param("patronId") UUID patronId, Pageable pageable);
+
+    /**
+     * First slice of a patron's loans, most recent first, read from the (patron_id, borrowed_at, id) index.
+     */
+    @Query("SELECT r FROM book_records r LEFT JOIN FETCH r.book LEFT JOIN FETCH r.patron " +
+            "WHERE r.patron.id = :patronId ORDER BY r.borrowedAt DESC, r.id DESC")
+    Slice<BookRecord> findPatronHistory(@Param("patronId") UUID patronId, Pageable pageable);
+
+    /**
+     * Loans of a patron older than the (borrowedAt, id) position, most recent first. Seeks on the
+     * (patron_id, borrowed_at, id) index, so a deep slice costs the same as the first one.
+     */
+    @Query("SELECT r FROM book_records r LEFT JOIN FETCH r.book LEFT JOIN FETCH r.patron " +
+            "WHERE r.patron.id = :patronId AND (r.borrowedAt, r.id) < (:borrowedAt, :id) " +
+            "ORDER BY r.borrowedAt DESC, r.id DESC")
+    Slice<BookRecord> findPatronHistoryBefore(@Param("patronId") UUID patronId,
+                                              @Param("borrowedAt") LocalDateTime borrowedAt, @Param("id") UUID id,
+                                              Pageable pageable);
+
+    /**
+     * First slice of a book's loans, most recent first, read from the (book_id, borrowed_at, id) index.
+     */
+    @Query("SELECT r FROM book_records r LEFT JOIN FETCH r.book LEFT JOIN FETCH r.patron " +
+            "WHERE r.book.id = :bookId ORDER BY r.borrowedAt DESC, r.id DESC")
+    Slice<BookRecord> findBookHistory(@Param("bookId") UUID bookId, Pageable pageable);
+
+    /**
+     * Loans of a book older than the (borrowedAt, id) position, most recent first, seeking on the
+     * (book_id, borrowed_at, id) index.
+     */
+    @Query("SELECT r FROM book_records r LEFT JOIN FETCH r.book LEFT JOIN FETCH r.patron " +
+            "WHERE r.book.id = :bookId AND (r.borrowedAt, r.id) < (:borrowedAt, :id) " +
+            "ORDER BY r.borrowedAt DESC, r.id DESC")
+    Slice<BookRecord> findBookHistoryBefore(@Param("bookId") UUID bookId,
+                                            @Param("borrowedAt") LocalDateTime borrowedAt, @Param("id") UUID id,
+                                            Pageable pageable);
 }
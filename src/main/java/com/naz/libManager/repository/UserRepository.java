@@ -1,19 +1,24 @@
 package com.naz.libManager.repository;
 
 import com.naz.libManager.entity.User;
-import org.springframework.data.domain.Page;
+import com.naz.libManager.payload.UserData;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
-    @Query("SELECT u FROM users u WHERE u.role= com.naz.libManager.enums.Role.PATRON")
-    Page<User> findAllPatrons(Pageable pageable);
+    /**
+     * A page of patrons selected straight into UserData, without loading User entities or counting the patrons.
+     */
+    @Query("SELECT new com.naz.libManager.payload.UserData(u.firstName, u.lastName, u.emailAddress, u.phoneNumber) " +
+            "FROM users u WHERE u.role = com.naz.libManager.enums.Role.PATRON ORDER BY u.id")
+    List<UserData> findPatronData(Pageable pageable);
 
     Optional<User> findByEmailAddress(String emailAddress);
 }
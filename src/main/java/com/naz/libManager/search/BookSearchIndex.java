@@ -0,0 +1,268 @@
+package com.naz.libManager.search;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title and author of every book in the catalog.
+ * Reads are lock-free; writes are serialized and applied once the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+
+    private final ConcurrentNavigableMap<String, Set<UUID>> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedBook> documents = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Builds the index from the books repository once the application has started,
+     * reading the catalog in batches keyed on the last id seen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            postings.clear();
+            documents.clear();
+            UUID last = new UUID(0L, 0L);
+            List<Book> books;
+            do {
+                books = bookRepository.findAfter(last, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                books.forEach(this::apply);
+                if (!books.isEmpty()) {
+                    last = books.get(books.size() - 1).getId();
+                }
+            } while (books.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Book search index built with {} books and {} terms", documents.size(), postings.size());
+    }
+
+    /**
+     * Adds or re-indexes a book once the current transaction commits.
+     *
+     * @param book The book to index
+     */
+    public void index(Book book) {
+        IndexedBook indexedBook = snapshot(book);
+        afterCommit(() -> {
+            writeLock.lock();
+            try {
+                apply(indexedBook);
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Refreshes the availability of an indexed book once the current transaction commits.
+     * The flag is read from the database under the write lock rather than passed in: callbacks of concurrent
+     * transactions may run in any order, and the last one to run must not restore a state an earlier commit replaced.
+     *
+     * @param bookId The UUID of the book whose copies were claimed or released
+     */
+    public void refreshAvailability(UUID bookId) {
+        afterCommit(() -> {
+            writeLock.lock();
+            try {
+                boolean available = Boolean.TRUE.equals(bookRepository.isAvailable(bookId));
+                documents.computeIfPresent(bookId, (id, indexedBook) -> new IndexedBook(id,
+                        indexedBook.title(), indexedBook.author(), available, indexedBook.tokens()));
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a book from the index once the current transaction commits.
+     *
+     * @param bookId The UUID of the book to remove
+     */
+    public void remove(UUID bookId) {
+        afterCommit(() -> {
+            writeLock.lock();
+            try {
+                unlink(bookId);
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Searches available books whose title or author contain every term of the query.
+     * All terms but the last must match a whole word; the last term also matches as a prefix.
+     *
+     * @param query    The free text query
+     * @param page     The page number (starts from 0)
+     * @param pageSize The size of each page
+     * @return The matching books for the requested page
+     */
+    public List<BookData> search(String query, int page, int pageSize) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String prefix = terms.remove(terms.size() - 1);
+
+        List<Set<UUID>> exactPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Set<UUID> ids = postings.get(term);
+            if (ids == null) {
+                return List.of();
+            }
+            exactPostings.add(ids);
+        }
+
+        PageCollector collector = new PageCollector((long) page * pageSize, pageSize);
+        if (exactPostings.isEmpty()) {
+            Set<UUID> seen = new HashSet<>();
+            for (Set<UUID> ids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (UUID id : ids) {
+                    if (seen.add(id) && collector.offer(documents.get(id), terms, prefix)) {
+                        return collector.results;
+                    }
+                }
+            }
+            return collector.results;
+        }
+
+        exactPostings.sort(Comparator.comparingInt(Set::size));
+        for (UUID id : exactPostings.get(0)) {
+            if (collector.offer(documents.get(id), terms, prefix)) {
+                return collector.results;
+            }
+        }
+        return collector.results;
+    }
+
+    /**
+     * Collects the matches of one result page, skipping the matches of the preceding pages.
+     */
+    private final class PageCollector {
+        private final List<BookData> results;
+        private final int pageSize;
+        private long toSkip;
+
+        private PageCollector(long toSkip, int pageSize) {
+            this.results = new ArrayList<>(pageSize);
+            this.pageSize = pageSize;
+            this.toSkip = toSkip;
+        }
+
+        /**
+         * @return true once the page is full
+         */
+        private boolean offer(IndexedBook book, List<String> terms, String prefix) {
+            if (book == null || !book.available() || !matches(book, terms, prefix)) {
+                return false;
+            }
+            if (toSkip > 0) {
+                toSkip--;
+                return false;
+            }
+            results.add(new BookData(book.title(), book.author()));
+            return results.size() == pageSize;
+        }
+    }
+
+    private boolean matches(IndexedBook book, List<String> terms, String prefix) {
+        if (!book.tokens().containsAll(terms)) {
+            return false;
+        }
+        for (String token : book.tokens()) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void apply(Book book) {
+        apply(snapshot(book));
+    }
+
+    private static IndexedBook snapshot(Book book) {
+        return new IndexedBook(book.getId(), book.getTitle(), book.getAuthor(),
+                Boolean.TRUE.equals(book.getAvailable()),
+                Set.copyOf(tokenize(book.getTitle() + " " + book.getAuthor())));
+    }
+
+    private void apply(IndexedBook indexedBook) {
+        unlink(indexedBook.id());
+        documents.put(indexedBook.id(), indexedBook);
+        for (String token : indexedBook.tokens()) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(indexedBook.id());
+        }
+    }
+
+    private void unlink(UUID bookId) {
+        IndexedBook previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            postings.computeIfPresent(token, (key, ids) -> {
+                ids.remove(bookId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Splits text into lower-cased, de-duplicated tokens of letters and digits, keeping their order.
+     *
+     * @param text The text to tokenize
+     * @return The tokens of the text
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
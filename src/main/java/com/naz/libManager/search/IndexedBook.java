@@ -0,0 +1,16 @@
+package com.naz.libManager.search;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the fields of a book held by the {@link BookSearchIndex}.
+ *
+ * @param id        The UUID of the book
+ * @param title     The title of the book
+ * @param author    The author of the book
+ * @param available Whether the book can currently be borrowed
+ * @param tokens    The case-folded tokens of the title and author
+ */
+public record IndexedBook(UUID id, String title, String author, boolean available, Set<String> tokens) {
+}
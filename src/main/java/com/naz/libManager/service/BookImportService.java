@@ -0,0 +1,11 @@
+package com.naz.libManager.service;
+
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.ImportResult;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    ResponseEntity<ApiResponse<ImportResult>> importBooks(InputStream inputStream, String contentType);
+}
@@ -4,6 +4,7 @@ import com.naz.libManager.dto.BookRequest;
 import com.naz.libManager.payload.ApiResponse;
 import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.CursorPage;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
@@ -13,6 +14,8 @@ public interface BookService {
 
     ResponseEntity<ApiResponse<String>> addBook(BookRequest bookRequest);
     ResponseEntity<ApiResponse<List<BookData>>> getAllBooks(Integer page, Integer size);
+    ResponseEntity<ApiResponse<CursorPage<BookData>>> scrollBooks(String cursor, Integer size);
+    ResponseEntity<ApiResponse<List<BookData>>> searchBooks(String query, Integer page, Integer size);
     ResponseEntity<ApiResponse<BookDetail>> viewBookDetail(UUID bookId);
     ResponseEntity<ApiResponse<String>> updateBookDetail(UUID bookId, BookRequest bookRequest);
     ResponseEntity<ApiResponse<String>> removeBook(UUID bookId);
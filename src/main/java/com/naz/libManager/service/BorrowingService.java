@@ -1,6 +1,8 @@
 package com.naz.libManager.service;
 
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.CursorPage;
 import org.springframework.http.ResponseEntity;
 
 import java.util.UUID;
@@ -9,4 +11,6 @@ public interface BorrowingService {
 
     ResponseEntity<ApiResponse<String>> borrowBook(UUID bookId, UUID patronId);
     ResponseEntity<ApiResponse<String>> returnBook(UUID bookId, UUID patronId);
+    ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getPatronHistory(UUID patronId, String cursor, Integer pageSize);
+    ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getBookHistory(UUID bookId, String cursor, Integer pageSize);
 }
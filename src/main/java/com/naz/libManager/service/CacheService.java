@@ -0,0 +1,11 @@
+package com.naz.libManager.service;
+
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.CacheStatistics;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface CacheService {
+    ResponseEntity<ApiResponse<List<CacheStatistics>>> getCacheStatistics();
+}
@@ -2,4 +2,10 @@ package com.naz.libManager.service;
 
 public interface EmailService {
     void sendMail(String message, String subject, String recipient);
+
+    void queueMail(String message, String subject, String recipient);
+
+    void dispatchQueuedMail();
+
+    void purgeFinishedMail();
 }
@@ -0,0 +1,21 @@
+package com.naz.libManager.service;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.HoldData;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface HoldService {
+    ResponseEntity<ApiResponse<String>> placeHold(UUID bookId);
+    ResponseEntity<ApiResponse<List<HoldData>>> getHolds();
+    ResponseEntity<ApiResponse<String>> cancelHold(UUID holdId);
+
+    boolean handOff(Book book);
+    boolean claimHeldBook(Book book, User patron);
+    void cancelActiveHolds(UUID patronId);
+    void expireHolds();
+}
@@ -12,7 +12,7 @@ import java.util.UUID;
 public interface PatronService {
 
     ResponseEntity<ApiResponse<List<UserData>>> getAllPatrons(Integer page, Integer size);
-    ResponseEntity<ApiResponse<PatronDetail>> viewPatronDetail(UUID patronId);
+    ResponseEntity<ApiResponse<PatronDetail>> viewPatronDetail(UUID patronId, Integer page, Integer size);
     ResponseEntity<ApiResponse<String>> updatePatronDetail(UUID patronId, UserRequest userRequest);
     ResponseEntity<ApiResponse<String>> removePatron(UUID patronId);
 }
@@ -4,6 +4,8 @@ import com.naz.libManager.dto.LoginDto;
 import com.naz.libManager.dto.SignupDto;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.enums.VerifyType;
+import com.naz.libManager.event.PatronChangedEvent;
+import com.naz.libManager.event.PrincipalChangedEvent;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.payload.ApiResponse;
 import com.naz.libManager.payload.LoginResponse;
@@ -12,6 +14,7 @@ import com.naz.libManager.service.AuthenticationService;
 import com.naz.libManager.util.ForgotPasswordTemplate;
 import com.naz.libManager.util.SignupEmailTemplate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +37,7 @@ public class AuthImplementation implements AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final JwtImplementation jwtImplementation;
     private final EmailImplementation emailImplementation;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Long expire = 900000L;
     protected String generateToken(User user, Long expiryDate) {
@@ -66,8 +70,9 @@ public class AuthImplementation implements AuthenticationService {
             user.setPassword(passwordEncoder.encode(signupDto.password()));
             user.setRole(signupDto.role());
             userRepository.save(user);
+            eventPublisher.publishEvent(new PatronChangedEvent(null));
 
-            emailImplementation.sendMail(SignupEmailTemplate.signup(signupDto.firstName(),
+            emailImplementation.queueMail(SignupEmailTemplate.signup(signupDto.firstName(),
                     generateToken(user, expire)),
                     "Verify your email address",
                     signupDto.emailAddress());
@@ -95,6 +100,7 @@ public class AuthImplementation implements AuthenticationService {
                 if(!user.isEnabled()){
                     user.setIsEnabled(true);
                     userRepository.save(user);
+                    eventPublisher.publishEvent(new PrincipalChangedEvent(email));
                     return ResponseEntity.ok(new ApiResponse<>("Your email address is verified. You can now login", HttpStatus.OK));
                 } else{
                     throw new LibManagerException("Your email address is already verified");
@@ -140,6 +146,7 @@ public class AuthImplementation implements AuthenticationService {
      * @return ResponseEntity containing ApiResponse indicating success or error accordingly
      */
     @Override
+    @Transactional
     public ResponseEntity<ApiResponse<String>> sendLink(String email, VerifyType type) {
         User user = userRepository.findByEmailAddress(email).orElseThrow(()
                 -> new LibManagerException("User not found"));
@@ -147,20 +154,21 @@ public class AuthImplementation implements AuthenticationService {
             if(user.isEnabled()){
                 throw new LibManagerException("Email address is already verified");
             } else{
-                emailImplementation.sendMail(
+                emailImplementation.queueMail(
                         SignupEmailTemplate.signup(user.getFirstName(), generateToken(user, expire)),
                         "Verify your email address",
                         email);
                 return ResponseEntity.ok(new ApiResponse<>("Check your email for verification link", HttpStatus.OK));
             }
         } else if(type == VerifyType.PASSWORD_RESET){
-            emailImplementation.sendMail(
+            emailImplementation.queueMail(
                     ForgotPasswordTemplate.resetPassword(user.getFirstName(), generateToken(user, expire)),
                     "Password reset",
                     email
             );
             user.setPasswordRecovery(true);
             userRepository.save(user);
+            eventPublisher.publishEvent(new PrincipalChangedEvent(email));
             return ResponseEntity.ok(new ApiResponse<>("Check your email for password reset link", HttpStatus.OK));
         } else{
             throw new LibManagerException("Invalid verification type");
@@ -189,6 +197,7 @@ public class AuthImplementation implements AuthenticationService {
                         user.setPassword(passwordEncoder.encode(password));
                         user.setPasswordRecovery(false);
                         userRepository.save(user);
+                        eventPublisher.publishEvent(new PrincipalChangedEvent(email));
                         return ResponseEntity.ok(new ApiResponse<>("Password reset successfully", HttpStatus.OK));
                     } else{
                         throw new LibManagerException("Passwords do not match");
@@ -0,0 +1,171 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.dto.BookRequest;
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.mapper.BookMapper;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.ImportResult;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.BookImportService;
+import com.naz.libManager.util.BookImportReader;
+import com.naz.libManager.util.UserUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BookImportService loading books in bulk from a CSV or NDJSON stream.
+ */
+@Slf4j
+@Service
+public class BookImportServiceImplementation implements BookImportService {
+    private final UserRepository userRepository;
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${LibManager.import.batch-size:100}")
+    private int batchSize = 100;
+
+    public BookImportServiceImplementation(UserRepository userRepository, BookRepository bookRepository,
+                                           BookSearchIndex bookSearchIndex, ApplicationEventPublisher eventPublisher,
+                                           ObjectMapper objectMapper, Validator validator,
+                                           PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports books from a stream of rows, parsing it incrementally.
+     * Rows are inserted in JDBC batches of LibManager.import.batch-size, one transaction per batch.
+     * A row that is malformed, invalid or whose title already exists is reported and skipped
+     * without affecting the other rows of its batch.
+     *
+     * @param inputStream The CSV or NDJSON request body
+     * @param contentType text/csv or application/x-ndjson
+     * @return ResponseEntity containing ApiResponse with the ImportResult
+     * @throws LibManagerException if the user is not an admin, or the format is unsupported or unreadable
+     */
+    @Override
+    public ResponseEntity<ApiResponse<ImportResult>> importBooks(InputStream inputStream, String contentType) {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        if(user.getRole() != Role.ADMIN){
+            throw new LibManagerException("You are not authorized to do this");
+        }
+
+        ImportResult result = new ImportResult();
+        try(BookImportReader reader = BookImportReader.open(inputStream, contentType, objectMapper)){
+            List<BookImportReader.Row> batch = new ArrayList<>(batchSize);
+            BookImportReader.Row row;
+            while((row = reader.next()) != null){
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if(error != null){
+                    result.addError(row.number(), row.request() == null ? null : row.request().title(), error);
+                } else{
+                    batch.add(row);
+                    if(batch.size() == batchSize){
+                        importBatch(batch, result);
+                        batch.clear();
+                    }
+                }
+            }
+            if(!batch.isEmpty()){
+                importBatch(batch, result);
+            }
+        } catch(IOException e){
+            throw new LibManagerException("The import file could not be read");
+        }
+
+        log.info("Book import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        return ResponseEntity.ok(new ApiResponse<>(result,
+                String.format("%d books imported, %d rows failed", result.getImported(), result.getFailed())));
+    }
+
+    private String validate(BookRequest bookRequest) {
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(bookRequest);
+        if(violations.isEmpty()){
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Drops rows whose title is already taken, then inserts the rest in one transaction.
+     * If the batch still fails, e.g. because a concurrent insert took a title, its rows are
+     * retried one transaction each so only the conflicting rows are rejected.
+     */
+    private void importBatch(List<BookImportReader.Row> batch, ImportResult result) {
+        Set<String> existing = bookRepository.findExistingTitles(batch.stream()
+                .map(row -> row.request().title())
+                .collect(Collectors.toSet()));
+        Set<String> seen = new HashSet<>();
+        List<BookImportReader.Row> rows = new ArrayList<>(batch.size());
+        for(BookImportReader.Row row : batch){
+            String title = row.request().title();
+            if(existing.contains(title) || !seen.add(title)){
+                result.addError(row.number(), title, "A book with this title already exists");
+            } else{
+                rows.add(row);
+            }
+        }
+        if(rows.isEmpty()){
+            return;
+        }
+
+        try{
+            insert(rows);
+            result.setImported(result.getImported() + rows.size());
+        } catch(DataIntegrityViolationException e){
+            for(BookImportReader.Row row : rows){
+                try{
+                    insert(List.of(row));
+                    result.setImported(result.getImported() + 1);
+                } catch(DataIntegrityViolationException rowException){
+                    result.addError(row.number(), row.request().title(), "A book with this title already exists");
+                }
+            }
+        }
+    }
+
+    private void insert(List<BookImportReader.Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Book> books = rows.stream()
+                    .map(row -> BookMapper.mapBookRequestToBook(new Book(), row.request()))
+                    .collect(Collectors.toList());
+            bookRepository.saveAll(books);
+            bookRepository.flush();
+            books.forEach(bookSearchIndex::index);
+            eventPublisher.publishEvent(new BookChangedEvent(null));
+        });
+    }
+}
@@ -1,24 +1,27 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.naz.libManager.aspect.RetryOnConflict;
+import com.naz.libManager.config.CatalogCache;
 import com.naz.libManager.dto.BookRequest;
 import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.enums.Role;
+import com.naz.libManager.event.BookChangedEvent;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.mapper.BookMapper;
 import com.naz.libManager.payload.*;
 import com.naz.libManager.repository.BookRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
 import com.naz.libManager.service.BookService;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.util.CursorUtil;
 import com.naz.libManager.util.UserUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -35,10 +38,13 @@ import static org.springframework.beans.support.PagedListHolder.DEFAULT_PAGE_SIZ
  */
 @Service
 @RequiredArgsConstructor
-@CacheConfig(cacheNames = "book")
 public class BookServiceImplementation implements BookService {
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final HoldService holdService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Adds a new book to the library.
@@ -49,10 +55,11 @@ public class BookServiceImplementation implements BookService {
     @Override
     @Transactional
     public ResponseEntity<ApiResponse<String>> addBook(BookRequest bookRequest) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         if(user.getRole() == Role.ADMIN){
-            bookRepository.save(BookMapper.mapBookRequestToBook(new Book(), bookRequest));
+            Book book = bookRepository.save(BookMapper.mapBookRequestToBook(new Book(), bookRequest));
+            bookSearchIndex.index(book);
+            eventPublisher.publishEvent(new BookChangedEvent(book.getId()));
         } else{
             throw new LibManagerException("You are not authorized to do this");
         }
@@ -70,21 +77,72 @@ public class BookServiceImplementation implements BookService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable
     public ResponseEntity<ApiResponse<List<BookData>>> getAllBooks(Integer pageNumber, Integer pageSize) {
         pageNumber = pageNumber != null && pageNumber >= 0 ? pageNumber : 0;
         pageSize = pageSize != null && pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        UserUtil.getAuthenticatedUser(userRepository);
 
-        Page<Book> books = bookRepository.findAllByAvailableTrue(pageable);
-        return ResponseEntity.ok(new ApiResponse<>(
+        List<BookData> books = catalogCache.getBookPage(pageNumber, pageSize,
+                () -> bookRepository.findAvailableBookData(pageable));
+        return ResponseEntity.ok(new ApiResponse<>(books, "Available books successfully fetched"));
+    }
+
+    /**
+     * Retrieves a slice of available books positioned after a continuation token, ordered by creation time.
+     * Unlike {@link #getAllBooks(Integer, Integer)} no count query is issued and the cost of a slice
+     * does not grow with its depth.
+     *
+     * @param cursor   The continuation token returned with the previous slice, or null for the first slice
+     * @param pageSize The size of the slice
+     * @return ResponseEntity containing ApiResponse with a CursorPage of BookData and the token of the next slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<CursorPage<BookData>>> scrollBooks(String cursor, Integer pageSize) {
+        pageSize = pageSize != null && pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+
+        Pageable pageable = PageRequest.of(0, pageSize);
+        UserUtil.getAuthenticatedUser(userRepository);
+
+        Slice<Book> books;
+        if(cursor == null || cursor.isBlank()){
+            books = bookRepository.findByAvailableTrueOrderByCreatedAtAscIdAsc(pageable);
+        } else{
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            books = bookRepository.findAvailableAfter(position.createdAt(), position.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if(books.hasNext()){
+            Book last = books.getContent().get(books.getNumberOfElements() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return ResponseEntity.ok(new ApiResponse<>(new CursorPage<>(
                 books.stream()
                         .map(book -> BookMapper.mapBookToBookData(book, new BookData()))
-                        .collect(Collectors.toList()), "Available books successfully fetched"
-        ));
+                        .collect(Collectors.toList()), nextCursor, books.hasNext()),
+                "Available books successfully fetched"));
+    }
+
+    /**
+     * Searches available books by the words of their title and author.
+     *
+     * @param query      The search terms; the last term also matches as a word prefix
+     * @param pageNumber The page number (starts from 0)
+     * @param pageSize   The size of each page
+     * @return ResponseEntity containing ApiResponse with a list of BookData matching every search term
+     */
+    @Override
+    public ResponseEntity<ApiResponse<List<BookData>>> searchBooks(String query, Integer pageNumber, Integer pageSize) {
+        pageNumber = pageNumber != null && pageNumber >= 0 ? pageNumber : 0;
+        pageSize = pageSize != null && pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+
+        UserUtil.getAuthenticatedUser(userRepository);
+
+        return ResponseEntity.ok(new ApiResponse<>(bookSearchIndex.search(query, pageNumber, pageSize),
+                "Matching books successfully fetched"));
     }
 
     /**
@@ -95,34 +153,47 @@ public class BookServiceImplementation implements BookService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "#bookId")
     public ResponseEntity<ApiResponse<BookDetail>> viewBookDetail(UUID bookId) {
-        userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new LibManagerException("book not found"));
+        UserUtil.getAuthenticatedUser(userRepository);
+        BookDetail bookDetail = catalogCache.getBookDetail(bookId, () -> {
+            Book book = bookRepository.findById(bookId)
+                    .orElseThrow(() -> new LibManagerException("book not found"));
+            return BookMapper.mapBookToBookDetail(book, new BookDetail());
+        });
 
-        return ResponseEntity.ok(new ApiResponse<>(BookMapper.mapBookToBookDetail(book, new BookDetail()),
-                "book details successfully fetched"));
+        return ResponseEntity.ok(new ApiResponse<>(bookDetail, "book details successfully fetched"));
     }
 
     /**
      * Updates the details of a specific book.
+     * A change in the number of copies is applied with a single conditional update on the copy counts;
+     * added copies go to patrons waiting for the book before they reach the shelf.
      *
      * @param bookId      The UUID of the book
      * @param bookRequest The BookRequest containing updated details
      * @return ResponseEntity containing ApiResponse confirming the update
+     * @throws LibManagerException if the book does not exist, if fewer copies would remain than are on loan
+     *                             or reserved, or if the user is not authorized to perform the action
      */
     @Override
     @Transactional
-    @CachePut(key = "#bookId")
+    @RetryOnConflict
     public ResponseEntity<ApiResponse<String>> updateBookDetail(UUID bookId, BookRequest bookRequest) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new LibManagerException("book not found"));
         if(user.getRole() == Role.ADMIN){
-            bookRepository.save(BookMapper.mapBookRequestToBook(book, bookRequest));
+            bookSearchIndex.index(bookRepository.save(BookMapper.mapBookRequestToBook(book, bookRequest)));
+            if(bookRequest.copies() != null){
+                if(bookRepository.updateCopies(bookId, bookRequest.copies()) == 0){
+                    throw new LibManagerException("Copies on loan or reserved for holds cannot be removed");
+                }
+                while(holdService.handOff(book)){
+                    // each hand-off reserves one of the added copies for the next patron in the queue
+                }
+                bookSearchIndex.refreshAvailability(bookId);
+            }
+            eventPublisher.publishEvent(new BookChangedEvent(bookId));
         } else{
             throw new LibManagerException("You are not authorized to do this");
         }
@@ -138,14 +209,14 @@ public class BookServiceImplementation implements BookService {
      */
     @Override
     @Transactional
-    @CacheEvict(key = "#bookId")
     public ResponseEntity<ApiResponse<String>> removeBook(UUID bookId) {
-        User user =userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new LibManagerException("book not found"));
         if(user.getRole() == Role.ADMIN){
             bookRepository.delete(book);
+            bookSearchIndex.remove(bookId);
+            eventPublisher.publishEvent(new BookChangedEvent(bookId));
         } else{
             throw new LibManagerException("You are not authorized to do this");
         }
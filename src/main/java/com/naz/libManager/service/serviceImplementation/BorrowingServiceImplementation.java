@@ -1,22 +1,42 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.naz.libManager.aspect.RetryOnConflict;
 import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.BookRecord;
 import com.naz.libManager.entity.User;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.event.PatronChangedEvent;
+import com.naz.libManager.enums.Role;
 import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.mapper.RecordMapper;
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.CursorPage;
 import com.naz.libManager.repository.BookRepository;
 import com.naz.libManager.repository.RecordRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
 import com.naz.libManager.service.BorrowingService;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.util.CursorUtil;
 import com.naz.libManager.util.UserUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.beans.support.PagedListHolder.DEFAULT_PAGE_SIZE;
 
 /**
  * Implementation of BorrowingService providing operations related to borrowing and returning books.
@@ -27,42 +47,59 @@ public class BorrowingServiceImplementation implements BorrowingService {
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final RecordRepository recordRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final HoldService holdService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Allows a user to borrow a book.
+     * A copy is taken with a single conditional update on the copy count, so concurrent borrowers of a title
+     * never lock it for longer than that statement and at most as many succeed as there are copies on the shelf;
+     * the borrow record is written in the same transaction. A patron whose hold is ready takes the copy reserved for them.
+     * The record is flushed straight away, so a concurrent second borrow of the same book by the same patron fails
+     * on the open-loan unique index here rather than at commit.
      *
      * @param bookId   The UUID of the book to be borrowed
      * @param patronId The UUID of the user borrowing the book
      * @return ResponseEntity containing ApiResponse confirming the book has been borrowed
-     * @throws LibManagerException if the user or book does not exist, or if the user is not authorized to perform the action
+     * @throws LibManagerException if the user or book does not exist, if no copy is available,
+     *                             if the user already has a copy, or if the user is not authorized to perform the action
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public ResponseEntity<ApiResponse<String>> borrowBook(UUID bookId, UUID patronId) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
-        User user1 = userRepository.findById(patronId)
-                .orElseThrow(() -> new LibManagerException("User does not exist"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        if(!Objects.equals(user.getId(), patronId)){
+            throw new LibManagerException("You are not authorized to do this");
+        }
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new LibManagerException("Book does not exist"));
-        if(user.equals(user1)){
-            if(book.getAvailable()){
-                book.setAvailable(false);
-                book.setBorrower(user);
-                bookRepository.save(book);
-
-                user.getBorrowedBooks().add(book);
-                userRepository.save(user);
+        if(recordRepository.existsByPatronIdAndOpenBookId(patronId, bookId)){
+            throw new LibManagerException("You have already borrowed this book");
+        }
+        boolean held = holdService.claimHeldBook(book, user);
+        if(!held && bookRepository.claimCopy(bookId) == 0){
+            throw new LibManagerException("This book is not available");
+        }
 
-                BookRecord bookRecord = new BookRecord();
-                bookRecord.setBook(book);
-                recordRepository.save(bookRecord);
-            } else{
-                throw new LibManagerException("This book is not available");
-            }
-        } else{
-            throw new LibManagerException("You are not authorized to do this");
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setBook(book);
+        bookRecord.setPatron(user);
+        bookRecord.setOpenBookId(bookId);
+        try{
+            recordRepository.saveAndFlush(bookRecord);
+        } catch(DataIntegrityViolationException e){
+            throw new LibManagerException("You have already borrowed this book");
         }
+        if(!held && !bookRepository.isAvailable(bookId)){
+            bookSearchIndex.refreshAvailability(bookId);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(bookId));
+        eventPublisher.publishEvent(new PatronChangedEvent(user.getId()));
+
         return ResponseEntity
                 .ok(new ApiResponse<>(String.format("You have now borrowed '%s' by '%s'",
                         book.getTitle(), book.getAuthor()), HttpStatus.OK));
@@ -70,6 +107,9 @@ public class BorrowingServiceImplementation implements BorrowingService {
 
     /**
      * Allows a user to return a borrowed book.
+     * The open loan is found by its (patron_id, open_book_id) index, so the lookup does not grow with the book's
+     * history, and is closed and its copy put back with one conditional update each. If patrons are waiting for
+     * the book the copy is reserved for the head of the queue instead of staying on the shelf.
      *
      * @param bookId   The UUID of the book to be returned
      * @param patronId The UUID of the user returning the book
@@ -79,34 +119,28 @@ public class BorrowingServiceImplementation implements BorrowingService {
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public ResponseEntity<ApiResponse<String>> returnBook(UUID bookId, UUID patronId) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
-        User user1 = userRepository.findById(patronId)
-                .orElseThrow(() -> new LibManagerException("User does not exist"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new LibManagerException("Book does not exist"));
-        BookRecord bookRecord = recordRepository.findByBook(book);
+        if(!Objects.equals(user.getId(), patronId)){
+            throw new LibManagerException("You are not authorized to do this");
+        }
+        BookRecord bookRecord = recordRepository.findByPatronIdAndOpenBookId(patronId, bookId);
         if(bookRecord != null){
-            if(!bookRecord.getReturned()){
-                if(user.equals(user1) && user.equals(book.getBorrower())){
-                    book.setAvailable(true);
-                    book.setBorrower(null);
-                    bookRepository.save(book);
-
-                    user.getBorrowedBooks().remove(book);
-                    userRepository.save(user);
-
-                    bookRecord.setBook(null);
-                    bookRecord.setReturned(true);
-                    recordRepository.save(bookRecord);
-
-                } else{
-                    throw new LibManagerException("You are not authorized to do this");
+            if(recordRepository.closeLoan(bookRecord.getId(), LocalDateTime.now()) == 1){
+                bookRepository.releaseCopy(bookId);
+                if(!holdService.handOff(book)){
+                    bookSearchIndex.refreshAvailability(bookId);
                 }
+                eventPublisher.publishEvent(new BookChangedEvent(bookId));
+                eventPublisher.publishEvent(new PatronChangedEvent(user.getId()));
             } else{
                 throw new LibManagerException("This book has been returned");
             }
+        } else if(recordRepository.existsByBookIdAndPatronId(bookId, patronId)){
+            throw new LibManagerException("This book has been returned");
         } else{
             throw new LibManagerException("A borrow record does not exist for this book");
         }
@@ -114,4 +148,79 @@ public class BorrowingServiceImplementation implements BorrowingService {
                 .ok(new ApiResponse<>(String.format("You have successfully returned '%s' by '%s'",
                         book.getTitle(), book.getAuthor()), HttpStatus.OK));
     }
+
+    /**
+     * Retrieves the loans of a patron, most recent first, one slice per continuation token.
+     * A patron may view their own history; an admin may view any patron's.
+     *
+     * @param patronId The UUID of the patron
+     * @param cursor   The continuation token returned with the previous slice, or null for the first slice
+     * @param pageSize The size of each slice
+     * @return ResponseEntity containing ApiResponse with a CursorPage of BorrowRecordData
+     * @throws LibManagerException if the user is not authorized to view the history, or if the cursor is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getPatronHistory(UUID patronId, String cursor,
+                                                                                      Integer pageSize) {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        if(Objects.equals(user.getId(), patronId) || user.getRole() == Role.ADMIN){
+            Pageable pageable = pageRequest(pageSize);
+            Slice<BookRecord> records;
+            if(cursor == null || cursor.isBlank()){
+                records = recordRepository.findPatronHistory(patronId, pageable);
+            } else{
+                CursorUtil.Position position = CursorUtil.decode(cursor);
+                records = recordRepository.findPatronHistoryBefore(patronId, position.createdAt(), position.id(), pageable);
+            }
+            return ResponseEntity.ok(new ApiResponse<>(mapRecords(records), "Borrow history successfully fetched"));
+        } else{
+            throw new LibManagerException("You are not authorized to view this information");
+        }
+    }
+
+    /**
+     * Retrieves the circulation history of a book, most recent loan first, one slice per continuation token.
+     *
+     * @param bookId   The UUID of the book
+     * @param cursor   The continuation token returned with the previous slice, or null for the first slice
+     * @param pageSize The size of each slice
+     * @return ResponseEntity containing ApiResponse with a CursorPage of BorrowRecordData
+     * @throws LibManagerException if the user is not an admin, or if the cursor is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> getBookHistory(UUID bookId, String cursor,
+                                                                                    Integer pageSize) {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        if(user.getRole() == Role.ADMIN){
+            Pageable pageable = pageRequest(pageSize);
+            Slice<BookRecord> records;
+            if(cursor == null || cursor.isBlank()){
+                records = recordRepository.findBookHistory(bookId, pageable);
+            } else{
+                CursorUtil.Position position = CursorUtil.decode(cursor);
+                records = recordRepository.findBookHistoryBefore(bookId, position.createdAt(), position.id(), pageable);
+            }
+            return ResponseEntity.ok(new ApiResponse<>(mapRecords(records), "Circulation history successfully fetched"));
+        } else{
+            throw new LibManagerException("You are not authorized to view this information");
+        }
+    }
+
+    private Pageable pageRequest(Integer pageSize) {
+        pageSize = pageSize != null && pageSize > 0 ? Math.min(pageSize, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        return PageRequest.of(0, pageSize);
+    }
+
+    private CursorPage<BorrowRecordData> mapRecords(Slice<BookRecord> records) {
+        String nextCursor = null;
+        if(records.hasNext()){
+            BookRecord last = records.getContent().get(records.getNumberOfElements() - 1);
+            nextCursor = CursorUtil.encode(last.getBorrowedAt(), last.getId());
+        }
+        return new CursorPage<>(records.stream()
+                .map(bookRecord -> RecordMapper.mapRecordToBorrowRecordData(bookRecord, new BorrowRecordData()))
+                .collect(Collectors.toList()), nextCursor, records.hasNext());
+    }
 }
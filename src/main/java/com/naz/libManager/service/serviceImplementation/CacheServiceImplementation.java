@@ -0,0 +1,56 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.CacheStatistics;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.service.CacheService;
+import com.naz.libManager.util.UserUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of CacheService reporting the state of the application caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheServiceImplementation implements CacheService {
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Retrieves the size, hit, miss and eviction counts of every application cache.
+     *
+     * @return ResponseEntity containing ApiResponse with the CacheStatistics of each cache
+     * @throws LibManagerException if the user is not an admin
+     */
+    @Override
+    public ResponseEntity<ApiResponse<List<CacheStatistics>>> getCacheStatistics() {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        if(user.getRole() != Role.ADMIN){
+            throw new LibManagerException("You are not authorized to view this information");
+        }
+
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for(String name : cacheManager.getCacheNames()){
+            Cache cache = cacheManager.getCache(name);
+            if(cache instanceof CaffeineCache caffeineCache){
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                statistics.add(new CacheStatistics(name, nativeCache.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(new ApiResponse<>(statistics, "Cache statistics successfully fetched"));
+    }
+}
@@ -1,26 +1,58 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.naz.libManager.entity.EmailOutbox;
+import com.naz.libManager.enums.MailStatus;
+import com.naz.libManager.repository.EmailOutboxRepository;
 import com.naz.libManager.service.EmailService;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.SneakyThrows;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Date;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
 
+@Slf4j
 @Service
 public class EmailImplementation implements EmailService {
-    @Autowired
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public EmailImplementation(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
-    }
     @Value("${MAIL_USERNAME}")
     private String sender;
+    @Value("${LibManager.mail.outbox.batch-size:50}")
+    private int batchSize = 50;
+    @Value("${LibManager.mail.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+    @Value("${LibManager.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    @Value("${LibManager.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff = Duration.ofHours(1);
+    @Value("${LibManager.mail.outbox.send-lease:10m}")
+    private Duration sendLease = Duration.ofMinutes(10);
+    @Value("${LibManager.mail.outbox.retention:24h}")
+    private Duration retention = Duration.ofHours(24);
+
+    public EmailImplementation(JavaMailSender mailSender, EmailOutboxRepository emailOutboxRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.mailSender = mailSender;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Sends an email message with the provided content, subject, and recipient.
@@ -32,6 +64,108 @@ public class EmailImplementation implements EmailService {
     @SneakyThrows
     @Override
     public void sendMail(String message, String subject, String recipient) {
+        mailSender.send(createMessage(message, subject, recipient));
+    }
+
+    /**
+     * Queues an email message in the outbox. The message is written in the caller's transaction,
+     * so it is only sent if that transaction commits, and is delivered later by {@link #dispatchQueuedMail()}.
+     *
+     * @param message   The content of the email message.
+     * @param subject   The subject of the email message.
+     * @param recipient The email address of the recipient.
+     */
+    @Override
+    @Transactional
+    public void queueMail(String message, String subject, String recipient) {
+        EmailOutbox mail = new EmailOutbox();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(message);
+        mail.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(mail);
+    }
+
+    /**
+     * Sends the next batch of due messages in the outbox over a single SMTP connection.
+     * The batch is claimed in one short transaction, which marks it SENDING with a lease, and sent with no
+     * transaction open, so a slow mail server holds neither a connection nor row locks. The results are recorded
+     * in a second transaction. A batch whose dispatcher died is claimed again once its lease runs out.
+     * Messages that fail are retried with exponential backoff until the maximum number of attempts.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${LibManager.mail.outbox.poll-interval:5000}")
+    public void dispatchQueuedMail() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claimDueMail(now));
+        if(batch == null || batch.isEmpty()){
+            return;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for(EmailOutbox mail : batch){
+            try{
+                messages.put(createMessage(mail.getBody(), mail.getSubject(), mail.getRecipient()), mail);
+            } catch(MessagingException e){
+                markFailed(mail, e, now);
+            }
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        try{
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch(MailSendException e){
+            failures = e.getFailedMessages();
+            if(failures.isEmpty()){
+                failures = failAll(messages.keySet(), e);
+            }
+        } catch(MailException e){
+            failures = failAll(messages.keySet(), e);
+        }
+
+        for(Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()){
+            Exception failure = failures.get(entry.getKey());
+            if(failure == null){
+                entry.getValue().setStatus(MailStatus.SENT);
+                entry.getValue().setAttempts(entry.getValue().getAttempts() + 1);
+            } else{
+                markFailed(entry.getValue(), failure, now);
+            }
+        }
+        try{
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+        } catch(OptimisticLockingFailureException e){
+            log.warn("Lease on {} queued mail ran out before their results were recorded", batch.size());
+            return;
+        }
+        log.info("Dispatched {} queued mail, {} failed", messages.size() - failures.size(), failures.size());
+    }
+
+    /**
+     * Deletes sent and failed mail once it is older than the retention period,
+     * so the verification and password reset links in their bodies are not kept.
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${LibManager.mail.outbox.purge-interval:3600000}")
+    public void purgeFinishedMail() {
+        int purged = emailOutboxRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+        if(purged > 0){
+            log.info("Purged {} sent or failed mail past retention", purged);
+        }
+    }
+
+    private List<EmailOutbox> claimDueMail(LocalDateTime now) {
+        List<EmailOutbox> batch = emailOutboxRepository.lockDueMail(now, PageRequest.of(0, batchSize));
+        for(EmailOutbox mail : batch){
+            mail.setStatus(MailStatus.SENDING);
+            mail.setNextAttemptAt(now.plus(sendLease));
+        }
+        emailOutboxRepository.saveAll(batch);
+        return batch;
+    }
+
+    private MimeMessage createMessage(String message, String subject, String recipient) throws MessagingException {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
         messageHelper.setSubject(subject);
@@ -39,7 +173,27 @@ public class EmailImplementation implements EmailService {
         messageHelper.setTo(recipient);
         messageHelper.setText(message, true);
         messageHelper.setSentDate(new Date(System.currentTimeMillis()));
-        mailSender.send(mimeMessage);
+        return mimeMessage;
+    }
+
+    private static Map<Object, Exception> failAll(Collection<MimeMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message, e));
+        return failures;
+    }
 
+    private void markFailed(EmailOutbox mail, Exception e, LocalDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        String error = String.valueOf(e.getMessage());
+        mail.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if(attempts >= maxAttempts){
+            mail.setStatus(MailStatus.FAILED);
+            log.warn("Giving up on mail {} to {} after {} attempts", mail.getId(), mail.getRecipient(), attempts);
+        } else{
+            mail.setStatus(MailStatus.PENDING);
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+            mail.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+        }
     }
 }
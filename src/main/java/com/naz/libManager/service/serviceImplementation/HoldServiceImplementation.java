@@ -0,0 +1,225 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.Hold;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.HoldStatus;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.HoldData;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.HoldRepository;
+import com.naz.libManager.repository.RecordRepository;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.util.HoldReadyEmailTemplate;
+import com.naz.libManager.util.UserUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Implementation of HoldService managing the queue of patrons waiting for a book with no copy on the shelf.
+ * Holds are placed under the book row lock, and a returned copy is put back with an update of the same row
+ * before the queue is read, so a hold is never left waiting behind a shelved copy. Paths that hold the book
+ * row only take hold rows with SKIP LOCKED, so they never wait on the expiry sweep or a cancellation,
+ * which lock the hold first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldServiceImplementation implements HoldService {
+    private final UserRepository userRepository;
+    private final BookRepository bookRepository;
+    private final HoldRepository holdRepository;
+    private final RecordRepository recordRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final EmailImplementation emailImplementation;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${LibManager.holds.pickup-window:48h}")
+    private Duration pickupWindow = Duration.ofHours(48);
+    @Value("${LibManager.holds.sweep-batch-size:100}")
+    private int sweepBatchSize = 100;
+
+    /**
+     * Places a hold on a book with no copy on the shelf for the authenticated user.
+     *
+     * @param bookId The UUID of the book
+     * @return ResponseEntity containing ApiResponse confirming the hold has been placed
+     * @throws LibManagerException if the book does not exist, is available to borrow, is borrowed by the user,
+     *                             or if the user already has an active hold on it
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<ApiResponse<String>> placeHold(UUID bookId) {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        Book book = bookRepository.lockById(bookId)
+                .orElseThrow(() -> new LibManagerException("Book does not exist"));
+        if(book.getAvailableCopies() > 0){
+            throw new LibManagerException("This book is available to borrow");
+        } else if(recordRepository.existsByPatronIdAndOpenBookId(user.getId(), bookId)){
+            throw new LibManagerException("You have already borrowed this book");
+        } else if(holdRepository.existsByBookIdAndPatronIdAndActiveTrue(bookId, user.getId())){
+            throw new LibManagerException("You already have a hold on this book");
+        }
+
+        Hold hold = new Hold();
+        hold.setBook(book);
+        hold.setPatron(user);
+        try{
+            holdRepository.saveAndFlush(hold);
+        } catch(DataIntegrityViolationException e){
+            throw new LibManagerException("You already have a hold on this book");
+        }
+        return ResponseEntity
+                .ok(new ApiResponse<>(String.format("You have placed a hold on '%s' by '%s'",
+                        book.getTitle(), book.getAuthor()), HttpStatus.OK));
+    }
+
+    /**
+     * Retrieves the active holds of the authenticated user with their place in each queue.
+     *
+     * @return ResponseEntity containing ApiResponse with a list of HoldData
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<List<HoldData>>> getHolds() {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        List<HoldData> holds = holdRepository.findActiveHoldData(user.getId());
+        for(HoldData hold : holds){
+            hold.setPosition(hold.getStatus() == HoldStatus.WAITING ? hold.getPosition() + 1 : null);
+        }
+        return ResponseEntity.ok(new ApiResponse<>(holds, "Holds successfully fetched"));
+    }
+
+    /**
+     * Cancels a hold of the authenticated user. A cancelled ready hold passes the book to the next patron.
+     *
+     * @param holdId The UUID of the hold
+     * @return ResponseEntity containing ApiResponse confirming the hold has been cancelled
+     * @throws LibManagerException if the hold does not exist, belongs to another user or is no longer active
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<ApiResponse<String>> cancelHold(UUID holdId) {
+        User user = UserUtil.getAuthenticatedUser(userRepository);
+        Hold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new LibManagerException("Hold does not exist"));
+        if(!Objects.equals(hold.getPatron().getId(), user.getId())){
+            throw new LibManagerException("You are not authorized to do this");
+        }
+        if(!cancel(hold)){
+            throw new LibManagerException("This hold is no longer active");
+        }
+        return ResponseEntity.ok(new ApiResponse<>("Hold successfully cancelled", HttpStatus.OK));
+    }
+
+    /**
+     * Reserves a shelved copy of a book for the head of its queue and notifies the patron.
+     * Called after a copy has been put back, in the same transaction.
+     *
+     * @param book The book
+     * @return true if a copy is now reserved for a patron, false if nobody is waiting or no copy is on the shelf
+     */
+    @Override
+    public boolean handOff(Book book) {
+        List<Hold> head = holdRepository.lockQueueHead(book.getId(), PageRequest.of(0, 1));
+        if(head.isEmpty() || bookRepository.claimCopy(book.getId()) == 0){
+            return false;
+        }
+        Hold hold = head.get(0);
+        LocalDateTime now = LocalDateTime.now();
+        hold.setStatus(HoldStatus.READY);
+        hold.setReadyAt(now);
+        hold.setExpiresAt(now.plus(pickupWindow));
+        holdRepository.save(hold);
+
+        User patron = hold.getPatron();
+        emailImplementation.queueMail(
+                HoldReadyEmailTemplate.holdReady(patron.getFirstName(), book.getTitle(), book.getAuthor(),
+                        hold.getExpiresAt()),
+                "Your hold is ready for pickup", patron.getEmailAddress());
+        return true;
+    }
+
+    /**
+     * Marks a patron's ready hold on a book fulfilled, handing them the copy reserved for it.
+     *
+     * @param book   The book being borrowed
+     * @param patron The patron borrowing it
+     * @return true if the patron had a ready hold on the book before its pickup deadline
+     */
+    @Override
+    public boolean claimHeldBook(Book book, User patron) {
+        return holdRepository.fulfil(book.getId(), patron.getId(), LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Cancels every active hold of a patron, passing any book reserved for them to the next in its queue.
+     *
+     * @param patronId The UUID of the patron
+     */
+    @Override
+    @Transactional
+    public void cancelActiveHolds(UUID patronId) {
+        for(Hold hold : holdRepository.findByPatronIdAndActiveTrue(patronId)){
+            cancel(hold);
+        }
+    }
+
+    /**
+     * Expires ready holds whose pickup deadline has passed and passes each book to the next patron in its queue,
+     * or back to the shelf when nobody is waiting.
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${LibManager.holds.sweep-interval:60000}")
+    public void expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Hold> expired = holdRepository.findExpired(now, PageRequest.of(0, sweepBatchSize));
+        int count = 0;
+        for(Hold hold : expired){
+            if(holdRepository.expire(hold.getId(), now) == 1){
+                passOn(hold.getBook());
+                count++;
+            }
+        }
+        if(count > 0){
+            log.info("Expired {} holds past their pickup deadline", count);
+        }
+    }
+
+    private boolean cancel(Hold hold) {
+        if(holdRepository.cancel(hold.getId(), HoldStatus.READY) == 1){
+            passOn(hold.getBook());
+            return true;
+        } else{
+            return holdRepository.cancel(hold.getId(), HoldStatus.WAITING) == 1;
+        }
+    }
+
+    private void passOn(Book book) {
+        bookRepository.releaseCopy(book.getId());
+        if(!handOff(book)){
+            bookSearchIndex.refreshAvailability(book.getId());
+            eventPublisher.publishEvent(new BookChangedEvent(book.getId()));
+        }
+    }
+}
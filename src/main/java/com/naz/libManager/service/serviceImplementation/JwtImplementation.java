@@ -1,35 +1,77 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.naz.libManager.service.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ * The signing key and parser are built once, and verified claims are cached by token hash
+ * until the token expires, so a repeat token is verified with a single cache lookup.
+ */
 @Service
 public class JwtImplementation implements JwtService {
-    @Value("${LibManager.security.jwt-secret-key}")
-    private String JWT_SECRET_KEY;
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtImplementation(@Value("${LibManager.security.jwt-secret-key}") String jwtSecretKey,
+                             @Value("${LibManager.security.jwt-cache.maximum-size:10000}") long maximumSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecretKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        return expiration == null ? 0 : TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     protected Key signingKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET_KEY));
+        return signingKey;
     }
 
     protected Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey())
-                .build()
+        return verifiedClaims.get(hash(token), key -> jwtParser
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
     }
 
     protected <T> T extractClaims(String token, Function<Claims, T> extract) {
@@ -60,4 +102,13 @@ public class JwtImplementation implements JwtService {
     public Boolean isExpired(String token) {
         return extractClaims(token, Claims::getExpiration).before(new Date(System.currentTimeMillis()));
     }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -1,22 +1,25 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.naz.libManager.aspect.RetryOnConflict;
+import com.naz.libManager.config.CatalogCache;
 import com.naz.libManager.dto.UserRequest;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.enums.Role;
+import com.naz.libManager.event.PatronChangedEvent;
+import com.naz.libManager.event.PrincipalChangedEvent;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.mapper.UserMapper;
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.PatronDetail;
 import com.naz.libManager.payload.UserData;
+import com.naz.libManager.repository.RecordRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.service.HoldService;
 import com.naz.libManager.service.PatronService;
 import com.naz.libManager.util.UserUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -25,8 +28,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import static org.springframework.beans.support.PagedListHolder.DEFAULT_PAGE_SIZE;
 
@@ -35,9 +39,12 @@ import static org.springframework.beans.support.PagedListHolder.DEFAULT_PAGE_SIZ
  */
 @Service
 @RequiredArgsConstructor
-@CacheConfig(cacheNames = "patron")
 public class PatronServiceImplementation implements PatronService {
     private final UserRepository userRepository;
+    private final RecordRepository recordRepository;
+    private final HoldService holdService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
@@ -49,42 +56,48 @@ public class PatronServiceImplementation implements PatronService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable
     public ResponseEntity<ApiResponse<List<UserData>>> getAllPatrons(Integer page, Integer size) {
         page = page != null && page >= 0 ? page : 0;
         size = size != null && size > 0 ? size : DEFAULT_PAGE_SIZE;
 
         Pageable pageable = PageRequest.of(page, size);
-        userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        UserUtil.getAuthenticatedUser(userRepository);
 
-            Page<User> allPatrons = userRepository.findAllPatrons(pageable);
-            return ResponseEntity.ok(new ApiResponse<>(
-                    allPatrons.stream()
-                            .map(patron -> UserMapper.mapUserToUserData(new UserData(), patron))
-                            .collect(Collectors.toList()), "All patrons successfully fetched"
-            ));
-        }
+        List<UserData> patrons = catalogCache.getPatronPage(page, size,
+                () -> userRepository.findPatronData(pageable));
+        return ResponseEntity.ok(new ApiResponse<>(patrons, "All patrons successfully fetched"));
+    }
 
     /**
-     * Retrieves detailed information about a specific patron.
+     * Retrieves detailed information about a specific patron together with one page of the books they
+     * currently hold. Only the requested page of loans is read, as title and author, never the patron's
+     * whole loan set; the first page at the default size is served from the patron detail cache.
      *
-     * @param patronId The UUID of the patron
+     * @param patronId   The UUID of the patron
+     * @param pageNumber The page number of the current loans
+     * @param pageSize   The size of the page of current loans
      * @return ResponseEntity containing ApiResponse with the PatronDetail
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "#patronId")
-    public ResponseEntity<ApiResponse<PatronDetail>> viewPatronDetail(UUID patronId) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+    public ResponseEntity<ApiResponse<PatronDetail>> viewPatronDetail(UUID patronId, Integer pageNumber, Integer pageSize) {
+        pageNumber = pageNumber != null && pageNumber >= 0 ? pageNumber : 0;
+        pageSize = pageSize != null && pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        User user = UserUtil.getAuthenticatedUser(userRepository);
 
         if(user.getRole() == Role.ADMIN){
-            User patron = userRepository.findById(patronId)
-                    .orElseThrow(() -> new LibManagerException("Patron does not exist"));
-            return ResponseEntity.ok(new ApiResponse<>(UserMapper
-                    .mapUserToPatronDetail(new PatronDetail(), patron),
-                    "patron details successfully fetched"));
+            Supplier<PatronDetail> loader = () -> {
+                User patron = userRepository.findById(patronId)
+                        .orElseThrow(() -> new LibManagerException("Patron does not exist"));
+                List<BookData> loans = recordRepository.findCurrentLoans(patronId, pageable).getContent();
+                return UserMapper.mapUserToPatronDetail(new PatronDetail(), patron, loans);
+            };
+            PatronDetail patronDetail = pageNumber == 0 && pageSize == DEFAULT_PAGE_SIZE
+                    ? catalogCache.getPatronDetail(patronId, loader)
+                    : loader.get();
+            return ResponseEntity.ok(new ApiResponse<>(patronDetail, "patron details successfully fetched"));
         } else{
             throw new LibManagerException("You are not authorized to view this information");
         }
@@ -99,14 +112,15 @@ public class PatronServiceImplementation implements PatronService {
      */
     @Override
     @Transactional
-    @CachePut(key = "#patronId")
+    @RetryOnConflict
     public ResponseEntity<ApiResponse<String>> updatePatronDetail(UUID patronId, UserRequest userRequest) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         User patron = userRepository.findById(patronId)
                 .orElseThrow(() -> new LibManagerException("User not found"));
-        if(user.equals(patron)){
-            userRepository.save(UserMapper.mapUserRequestToUser(user, userRequest));
+        if(Objects.equals(user.getId(), patron.getId())){
+            eventPublisher.publishEvent(new PrincipalChangedEvent(patron.getEmailAddress()));
+            userRepository.save(UserMapper.mapUserRequestToUser(patron, userRequest));
+            eventPublisher.publishEvent(new PatronChangedEvent(patronId));
         } else{
             throw new LibManagerException("You are not authorized to do this");
         }
@@ -115,23 +129,32 @@ public class PatronServiceImplementation implements PatronService {
     }
 
     /**
-     * Removes a specific patron.
+     * Removes a specific patron. Their active holds are cancelled first, so a book reserved for them
+     * passes to the next patron in its queue.
      *
      * @param patronId The UUID of the patron to be removed
      * @return ResponseEntity containing ApiResponse confirming the removal
+     * @throws LibManagerException if the patron does not exist, still holds borrowed books,
+     *                             or if the user is not authorized to perform the action
      */
     @Override
     @Transactional
-    @CacheEvict(key = "#patronId")
     public ResponseEntity<ApiResponse<String>> removePatron(UUID patronId) {
-        User user = userRepository.findByEmailAddress(UserUtil.getLoginUser())
-                .orElseThrow(() -> new LibManagerException("User not found"));
+        User user = UserUtil.getAuthenticatedUser(userRepository);
         User patron = userRepository.findById(patronId)
                 .orElseThrow(() -> new LibManagerException("User not found"));
-        if(user.equals(patron)){
+        if(Objects.equals(user.getId(), patron.getId())){
+            requireNoLoans(patronId);
+            holdService.cancelActiveHolds(patronId);
             userRepository.deleteById(patronId);
+            eventPublisher.publishEvent(new PrincipalChangedEvent(patron.getEmailAddress()));
+            eventPublisher.publishEvent(new PatronChangedEvent(patronId));
         } else if(user.getRole() == Role.ADMIN){
+            requireNoLoans(patronId);
+            holdService.cancelActiveHolds(patronId);
             userRepository.delete(patron);
+            eventPublisher.publishEvent(new PrincipalChangedEvent(patron.getEmailAddress()));
+            eventPublisher.publishEvent(new PatronChangedEvent(patronId));
             return ResponseEntity
                     .ok(new ApiResponse<>("Patron successfully removed", HttpStatus.OK));
         } else{
@@ -140,4 +163,10 @@ public class PatronServiceImplementation implements PatronService {
         return ResponseEntity
                 .ok(new ApiResponse<>("You have been removed", HttpStatus.OK));
     }
+
+    private void requireNoLoans(UUID patronId) {
+        if(recordRepository.existsByPatronIdAndOpenBookIdNotNull(patronId)){
+            throw new LibManagerException("All borrowed books must be returned before the patron is removed");
+        }
+    }
 }
@@ -0,0 +1,217 @@
+package com.naz.libManager.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.dto.BookRequest;
+import com.naz.libManager.exception.LibManagerException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads BookRequest rows one at a time from a CSV or NDJSON stream, so an import never holds more
+ * than the current row in memory. A row that cannot be parsed is returned with an error instead of
+ * ending the import.
+ */
+public abstract class BookImportReader implements Closeable {
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    /**
+     * A parsed row, or the reason it could not be parsed.
+     *
+     * @param number  The 1-based number of the data row in the file
+     * @param request The parsed book, or null if the row is malformed
+     * @param error   The parse error, or null if the row was parsed
+     */
+    public record Row(long number, BookRequest request, String error) {
+    }
+
+    protected BookImportReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens a reader for the format named by the content type.
+     *
+     * @param inputStream  The request body
+     * @param contentType  text/csv or application/x-ndjson
+     * @param objectMapper Used to parse NDJSON rows
+     * @return A reader positioned at the first data row
+     * @throws LibManagerException if the content type is not supported
+     */
+    public static BookImportReader open(InputStream inputStream, String contentType, ObjectMapper objectMapper) {
+        String mediaType = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        return switch (mediaType) {
+            case CSV -> new Csv(inputStream);
+            case NDJSON, "application/ndjson", "application/jsonl" -> new Ndjson(inputStream, objectMapper);
+            default -> throw new LibManagerException("Unsupported import format, use text/csv or application/x-ndjson");
+        };
+    }
+
+    /**
+     * @return The next row, or null at the end of the stream
+     */
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends BookImportReader {
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream inputStream, ObjectMapper objectMapper) {
+            super(inputStream);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            rowNumber++;
+            try {
+                return new Row(rowNumber, objectMapper.readValue(line, BookRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(rowNumber, null, "Malformed JSON row");
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the columns title, author, publicationYear, isbn and copies in any order.
+     * Quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private static final class Csv extends BookImportReader {
+        private int title = -1;
+        private int author = -1;
+        private int publicationYear = -1;
+        private int isbn = -1;
+        private int copies = -1;
+        private int columns;
+
+        private Csv(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == 0) {
+                readHeader();
+            }
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+
+            rowNumber++;
+            if (fields.size() != columns) {
+                return new Row(rowNumber, null, String.format("Expected %d columns but found %d", columns, fields.size()));
+            }
+            Long year = null;
+            String yearField = field(fields, publicationYear);
+            if (yearField != null && !yearField.isBlank()) {
+                try {
+                    year = Long.parseLong(yearField.trim());
+                } catch (NumberFormatException e) {
+                    return new Row(rowNumber, null, "Publication year must be a number");
+                }
+            }
+            Integer copyCount = null;
+            String copiesField = field(fields, copies);
+            if (copiesField != null && !copiesField.isBlank()) {
+                try {
+                    copyCount = Integer.parseInt(copiesField.trim());
+                } catch (NumberFormatException e) {
+                    return new Row(rowNumber, null, "Copies must be a number");
+                }
+            }
+            return new Row(rowNumber, new BookRequest(field(fields, title), field(fields, author), year,
+                    field(fields, isbn), copyCount), null);
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new LibManagerException("The import file is empty");
+            }
+            columns = header.size();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "title" -> title = i;
+                    case "author" -> author = i;
+                    case "publicationyear", "publication_year" -> publicationYear = i;
+                    case "isbn" -> isbn = i;
+                    case "copies" -> copies = i;
+                    default -> {
+                    }
+                }
+            }
+            if (title < 0 || author < 0) {
+                throw new LibManagerException("The CSV header must name the title and author columns");
+            }
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < 0 ? null : fields.get(index).trim();
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.naz.libManager.util;
+
+import com.naz.libManager.exception.LibManagerException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used for keyset pagination.
+ * A token carries the (timestamp, id) position of the last row of the previous slice: created_at for books and
+ * borrowed_at for borrow records.
+ */
+public class CursorUtil {
+    private static final String SEPARATOR = "|";
+
+    public record Position(LocalDateTime createdAt, UUID id) {
+    }
+
+    public static String encode(LocalDateTime createdAt, UUID id) {
+        String position = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            return new Position(LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new LibManagerException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.naz.libManager.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class HoldReadyEmailTemplate {
+    private static final DateTimeFormatter DEADLINE = DateTimeFormatter.ofPattern("EEEE d MMMM yyyy, HH:mm");
+
+    public static String holdReady(String firstName, String title, String author, LocalDateTime expiresAt){
+        return "<!DOCTYPE html>\n" +
+                "<html>\n" +
+                "<body style=\"font-family: Cabin, sans-serif; color: #333333;\">\n" +
+                "  <p>Hi " + firstName + ",</p>\n" +
+                "  <p>'" + title + "' by " + author + " has been returned and is now reserved for you.</p>\n" +
+                "  <p>Borrow it before <strong>" + DEADLINE.format(expiresAt) + "</strong>, " +
+                "after which it passes to the next patron in the queue.</p>\n" +
+                "  <p>LibManager</p>\n" +
+                "</body>\n" +
+                "</html>";
+    }
+}
@@ -1,5 +1,8 @@
 package com.naz.libManager.util;
 
+import com.naz.libManager.entity.User;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.repository.UserRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -15,4 +18,24 @@ public class UserUtil {
             return principal.toString();
         }
     }
+
+    /**
+     * Resolves the user entity of the current request.
+     * Returns the User the JWT filter already placed in the security context, and only falls back
+     * to a lookup by email address when the principal is not a User.
+     * The returned entity is a detached copy owned by the current request: compare users by id and reload
+     * before modifying.
+     *
+     * @param userRepository Repository used for the fallback lookup
+     * @return The authenticated user
+     * @throws LibManagerException if no user exists for the principal
+     */
+    public static User getAuthenticatedUser(UserRepository userRepository){
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if(principal instanceof User user){
+            return user;
+        }
+        return userRepository.findByEmailAddress(getLoginUser())
+                .orElseThrow(() -> new LibManagerException("User not found"));
+    }
 }
@@ -0,0 +1,58 @@
+package com.naz.libManager.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, followed by a
+ * 12-bit counter and 62 random bits. Ids created later sort after ids created earlier, so new rows are
+ * appended to the right-hand edge of a primary-key B-tree instead of being scattered across it.
+ * <p>
+ * The timestamp and counter are advanced together with a single compare-and-set, so ids are strictly
+ * increasing across all threads of the JVM, including within the same millisecond and when the clock
+ * steps backwards. If more than 4096 ids are requested in one millisecond the timestamp runs slightly
+ * ahead of the clock until it catches up.
+ */
+public final class UuidV7 {
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * @return A new version 7 UUID, greater than every UUID previously returned by this JVM
+     */
+    public static UUID generate() {
+        long timeAndCounter = nextTimeAndCounter(System.currentTimeMillis());
+        long mostSignificantBits = (timeAndCounter >>> COUNTER_BITS) << 16
+                | VERSION
+                | (timeAndCounter & ((1L << COUNTER_BITS) - 1));
+        long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * @param uuid A version 7 UUID
+     * @return The Unix millisecond timestamp embedded in the UUID
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextTimeAndCounter(long now) {
+        long candidate = now << COUNTER_BITS;
+        while (true) {
+            long last = LAST.get();
+            long next = Math.max(candidate, last + 1);
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.naz.libManager;
+
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.exception.LibManagerExceptionHandler;
+import com.naz.libManager.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The MetricsEndpointTest class checks that service timings and exception counts reach the Prometheus
+ * scrape endpoint, and that only the scraper credentials can read it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics-endpoint;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "LibManager.security.jwt-secret-key=bGlibWFuYWdlci1tZXRyaWNzLWVuZHBvaW50LXRlc3Qta2V5",
+        "MAIL_USERNAME=test@libmanager.local",
+        "LibManager.metrics.scrape-password=scrape-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private LibManagerExceptionHandler exceptionHandler;
+
+    /**
+     * Tests that a failed service call is timed with its exception and percentiles, and its message counted.
+     */
+    @Test
+    void prometheus_ExposesServiceTimersAndExceptionCounts() throws Exception {
+        User patron = new User();
+        patron.setEmailAddress("patron@libmanager.local");
+        patron.setRole(Role.PATRON);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+        LibManagerException exception;
+        try{
+            exception = assertThrows(LibManagerException.class,
+                    () -> bookService.viewBookDetail(UUID.randomUUID()));
+        } finally{
+            SecurityContextHolder.clearContext();
+        }
+        exceptionHandler.handleLibManagerException(exception);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(Pattern.compile("libmanager_service_seconds_count\\{[^}]*class=\"BookServiceImplementation\"," +
+                "exception=\"LibManagerException\",method=\"viewBookDetail\",outcome=\"ERROR\",?} 1\\.0")
+                .matcher(scrape).find(), scrape);
+        assertTrue(scrape.contains("quantile=\"0.99\""));
+        assertTrue(scrape.contains("libmanager_service_seconds_bucket{"));
+        assertTrue(Pattern.compile("libmanager_exceptions_total\\{[^}]*reason=\"book not found\",?} 1\\.0")
+                .matcher(scrape).find(), scrape);
+    }
+
+    /**
+     * Tests that other actuator endpoints still need a token.
+     */
+    @Test
+    void metrics_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Tests that the scrape endpoint refuses requests without the scraper credentials.
+     */
+    @Test
+    void prometheus_RequiresScraperCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong-secret")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("patron@libmanager.local", "scrape-secret")))
+                .andExpect(status().isUnauthorized());
+    }
+}
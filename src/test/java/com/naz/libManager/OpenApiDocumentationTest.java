@@ -0,0 +1,48 @@
+package com.naz.libManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The OpenApiDocumentationTest class checks that endpoints serving pre-rendered JSON bytes are documented
+ * with the JSON body they return.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:open-api-documentation;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "LibManager.security.jwt-secret-key=bGlibWFuYWdlci1vcGVuLWFwaS1kb2N1bWVudGF0aW9uLWtleQ",
+        "MAIL_USERNAME=test@libmanager.local"
+})
+@AutoConfigureMockMvc
+class OpenApiDocumentationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Tests that the cached book endpoints are documented as JSON ApiResponse bodies rather than bytes.
+     */
+    @Test
+    void apiDocs_DocumentCachedBookEndpointsAsJson() throws Exception {
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/books'].get.responses['200'].content['application/json']"
+                        + ".schema['$ref']").value("#/components/schemas/BookPageResponse"))
+                .andExpect(jsonPath("$.paths['/api/books/{id}'].get.responses['200'].content['application/json']"
+                        + ".schema['$ref']").value("#/components/schemas/BookDetailResponse"))
+                .andExpect(jsonPath("$.components.schemas.BookPageResponse.properties.data.items['$ref']")
+                        .value("#/components/schemas/BookData"))
+                .andExpect(jsonPath("$.components.schemas.BookDetailResponse.properties.data['$ref']")
+                        .value("#/components/schemas/BookDetail"));
+    }
+}
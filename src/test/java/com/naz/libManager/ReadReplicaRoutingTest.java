@@ -0,0 +1,222 @@
+package com.naz.libManager;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.RecordRepository;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.service.BookService;
+import com.naz.libManager.service.BorrowingService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ReadReplicaRoutingTest class runs the application against two in-memory databases, a primary and a replica
+ * that only changes when the test copies the primary into it, so every read shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.auto-commit=false",
+        "spring.datasource.hikari.leak-detection-threshold=20000",
+        "LibManager.datasource.replica.jdbc-url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "LibManager.datasource.replica.username=sa",
+        "LibManager.datasource.replica.password=",
+        "LibManager.datasource.replica.maximum-pool-size=2",
+        "LibManager.datasource.replica.connection-timeout=2500",
+        "LibManager.datasource.replica.pin-window=1s",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "LibManager.security.jwt-secret-key=bGlibWFuYWdlci1yZWFkLXJlcGxpY2Etcm91dGluZy10ZXN0LWtleQ==",
+        "MAIL_USERNAME=test@libmanager.local"
+})
+class ReadReplicaRoutingTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private BorrowingService borrowingService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RecordRepository recordRepository;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    /**
+     * Copies the schema into the replica before the search index is built from it.
+     */
+    @TestConfiguration
+    static class ReplicaSchema {
+        @Bean
+        ReplicaCopier replicaCopier(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+            return new ReplicaCopier(primaryDataSource);
+        }
+    }
+
+    record ReplicaCopier(DataSource primaryDataSource) {
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        @EventListener(ApplicationReadyEvent.class)
+        public void copySchema() throws SQLException {
+            replicate(primaryDataSource);
+        }
+    }
+
+    /**
+     * Replaces the replica with a copy of the primary, as replication catching up would.
+     */
+    static void replicate(DataSource primaryDataSource) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try(Connection primary = primaryDataSource.getConnection();
+            Statement statement = primary.createStatement();
+            ResultSet resultSet = statement.executeQuery("SCRIPT")){
+            while(resultSet.next()){
+                script.add(resultSet.getString(1));
+            }
+        }
+        try(Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+            Statement statement = replica.createStatement()){
+            statement.execute("DROP ALL OBJECTS");
+            for(String sql : script){
+                statement.execute(sql);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        SecurityContextHolder.clearContext();
+        recordRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        replicate(primaryDataSource);
+    }
+
+    private User patron(String emailAddress) {
+        User patron = new User();
+        patron.setFirstName("Patron");
+        patron.setEmailAddress(emailAddress);
+        patron.setRole(Role.PATRON);
+        return userRepository.save(patron);
+    }
+
+    private Book book() {
+        Book book = new Book();
+        book.setTitle("Things Fall Apart");
+        book.setAuthor("Chinua Achebe");
+        return bookRepository.save(book);
+    }
+
+    private void actAs(User patron) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+    }
+
+    /**
+     * Tests that writes go to the primary and read-only transactions to the replica.
+     */
+    @Test
+    void readOnlyTransactions_ReadReplica() throws SQLException {
+        UUID bookId = book().getId();
+
+        assertTrue(bookRepository.findById(bookId).isEmpty());
+
+        replicate(primaryDataSource);
+        assertTrue(bookRepository.findById(bookId).isPresent());
+    }
+
+    /**
+     * Tests that a borrower reads their own change from the primary during the pin window, while other patrons
+     * read the lagging replica.
+     */
+    @Test
+    void borrowBook_PinsBorrowerToPrimary() throws Exception {
+        User borrower = patron("borrower@libmanager.local");
+        User other = patron("other@libmanager.local");
+        UUID bookId = book().getId();
+        replicate(primaryDataSource);
+
+        actAs(borrower);
+        borrowingService.borrowBook(bookId, borrower.getId());
+
+        assertEquals(0, bookRepository.findById(bookId).orElseThrow().getAvailableCopies());
+        actAs(other);
+        assertEquals(1, bookRepository.findById(bookId).orElseThrow().getAvailableCopies());
+
+        Thread.sleep(1500);
+        actAs(borrower);
+        assertEquals(1, bookRepository.findById(bookId).orElseThrow().getAvailableCopies());
+    }
+
+    /**
+     * Tests that the book caches are filled from the primary: a patron who is not pinned misses the caches
+     * right after a borrow, and the entries their reads leave behind show the borrow to everyone.
+     */
+    @Test
+    void catalogCaches_FillFromPrimary() throws Exception {
+        User borrower = patron("borrower@libmanager.local");
+        User other = patron("other@libmanager.local");
+        UUID bookId = book().getId();
+        replicate(primaryDataSource);
+
+        actAs(borrower);
+        borrowingService.borrowBook(bookId, borrower.getId());
+
+        actAs(other);
+        assertEquals(1, bookRepository.findById(bookId).orElseThrow().getAvailableCopies());
+        assertEquals(0, bookService.viewBookDetail(bookId).getBody().getData().getAvailableCopies());
+        assertTrue(bookService.getAllBooks(0, 10).getBody().getData().isEmpty());
+
+        actAs(borrower);
+        assertEquals(0, bookService.viewBookDetail(bookId).getBody().getData().getAvailableCopies());
+        assertTrue(bookService.getAllBooks(0, 10).getBody().getData().isEmpty());
+    }
+
+    /**
+     * Tests that the replica pool takes the primary's connection settings unless it sets its own.
+     */
+    @Test
+    void replicaPool_InheritsPrimarySettings() {
+        assertFalse(replicaDataSource.isAutoCommit());
+        assertEquals(20000, replicaDataSource.getLeakDetectionThreshold());
+        assertEquals(2500, replicaDataSource.getConnectionTimeout());
+        assertEquals(2, replicaDataSource.getMaximumPoolSize());
+        assertTrue(replicaDataSource.isReadOnly());
+    }
+}
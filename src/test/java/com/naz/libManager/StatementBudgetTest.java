@@ -0,0 +1,183 @@
+package com.naz.libManager;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.BookRecord;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.RecordRepository;
+import com.naz.libManager.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The StatementBudgetTest class holds every list endpoint to a fixed number of SQL statements per request.
+ * Each row is borrowed by a different patron, so a lazily loaded association that is read per row shows up
+ * as extra statements that grow with the page size and break the budget.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.naz.libManager.StatementCounter",
+        "LibManager.security.jwt-secret-key=bGlibWFuYWdlci1zdGF0ZW1lbnQtYnVkZ2V0LXRlc3Qta2V5",
+        "MAIL_USERNAME=test@libmanager.local"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+    private static final int ROWS = 60;
+    private static final int BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private RecordRepository recordRepository;
+
+    private User admin;
+    private User heavyBorrower;
+    private Book popularBook;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(user("admin@libmanager.local", Role.ADMIN));
+        heavyBorrower = userRepository.save(user("reader@libmanager.local", Role.PATRON));
+        popularBook = bookRepository.save(book("Popular title"));
+
+        List<BookRecord> records = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User patron = userRepository.save(user("patron" + i + "@libmanager.local", Role.PATRON));
+            bookRepository.save(book("Available title " + i));
+
+            Book borrowed = book("Borrowed title " + i);
+            borrowed.setAvailable(false);
+            borrowed.setAvailableCopies(0);
+            bookRepository.save(borrowed);
+
+            Book held = book("Held title " + i);
+            held.setAvailable(false);
+            held.setAvailableCopies(0);
+            bookRepository.save(held);
+
+            records.add(record(borrowed, patron, true));
+            records.add(record(popularBook, patron, false));
+            records.add(record(held, heavyBorrower, true));
+        }
+        recordRepository.saveAll(records);
+    }
+
+    @AfterAll
+    void clear() {
+        recordRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, Collections.emptyList()));
+    }
+
+    /**
+     * Page sizes are distinct per run and above the cached page size where it matters,
+     * so every request reaches the database.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void bookList(int size) throws Exception {
+        assertWithinBudget("/api/books?size=" + size, size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {6, 51})
+    void bookScroll(int size) throws Exception {
+        assertWithinBudget("/api/books/scroll?size=" + size, size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {7, 52})
+    void patronList(int size) throws Exception {
+        assertWithinBudget("/api/patrons?size=" + size, size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 53})
+    void patronDetail(int size) throws Exception {
+        assertWithinBudget("/api/patrons/" + heavyBorrower.getId() + "?size=" + size, size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {9, 54})
+    void patronHistory(int size) throws Exception {
+        assertWithinBudget("/api/patrons/" + heavyBorrower.getId() + "/borrow-history?size=" + size, size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 55})
+    void bookHistory(int size) throws Exception {
+        assertWithinBudget("/api/books/" + popularBook.getId() + "/borrow-history?size=" + size, size);
+    }
+
+    private void assertWithinBudget(String uri, int size) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        int statements = StatementCounter.count();
+        assertTrue(statements <= BUDGET,
+                String.format("GET %s (size %d) issued %d statements, budget is %d", uri, size, statements, BUDGET));
+    }
+
+    private static User user(String emailAddress, Role role) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmailAddress(emailAddress);
+        user.setPassword("not-used");
+        user.setRole(role);
+        user.setIsEnabled(true);
+        return user;
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setPublicationYear(2024L);
+        book.setIsbn("0000000000000");
+        return book;
+    }
+
+    private static BookRecord record(Book book, User patron, boolean open) {
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setBook(book);
+        bookRecord.setPatron(patron);
+        bookRecord.setReturned(!open);
+        bookRecord.setOpenBookId(open ? book.getId() : null);
+        return bookRecord;
+    }
+}
@@ -0,0 +1,123 @@
+package com.naz.libManager.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.repository.EmailOutboxRepository;
+import com.naz.libManager.service.serviceImplementation.EmailImplementation;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * The LoggingAspectTest class contains test cases for sampled success and rejection logs and unsampled error logs.
+ */
+@ExtendWith(SpringExtension.class)
+class LoggingAspectTest {
+    @Mock
+    private JavaMailSender mailSender;
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    private EmailImplementation proxy(int successSampleRate) {
+        EmailImplementation emailImplementation = new EmailImplementation(mailSender, emailOutboxRepository,
+                transactionManager);
+        ReflectionTestUtils.setField(emailImplementation, "sender", "libmanager@gmail.com");
+        AspectJProxyFactory factory = new AspectJProxyFactory(emailImplementation);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(successSampleRate));
+        return factory.getProxy();
+    }
+
+    /**
+     * Tests that every success is logged once, with the short signature, when every call is sampled.
+     */
+    @Test
+    void log_EverySuccessSampled() {
+        EmailImplementation emailImplementation = proxy(1);
+
+        emailImplementation.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+        emailImplementation.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+
+        assertEquals(2, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+        assertEquals("method=EmailImplementation.sendMail(..) outcome=SUCCESS",
+                appender.list.get(0).getFormattedMessage());
+    }
+
+    /**
+     * Tests that failures are logged even when success logs are switched off.
+     */
+    @Test
+    void log_ErrorsNeverSampled() {
+        EmailImplementation emailImplementation = proxy(0);
+        emailImplementation.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(MimeMessage.class));
+
+        assertThrows(MailSendException.class, () ->
+                emailImplementation.sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com"));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.ERROR, appender.list.get(0).getLevel());
+        assertEquals("method=EmailImplementation.sendMail(..) outcome=ERROR exception=MailSendException " +
+                "message=\"Connection refused\"", appender.list.get(0).getFormattedMessage());
+        assertEquals(MailSendException.class.getName(), appender.list.get(0).getThrowableProxy().getClassName());
+    }
+
+    /**
+     * Tests that expected rejections are logged at INFO through the success sampler.
+     */
+    @Test
+    void log_RejectionsSampled() {
+        doThrow(new LibManagerException("Invalid recipient")).when(mailSender).send(any(MimeMessage.class));
+
+        assertThrows(LibManagerException.class, () ->
+                proxy(0).sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com"));
+        assertTrue(appender.list.isEmpty());
+
+        assertThrows(LibManagerException.class, () ->
+                proxy(1).sendMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com"));
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+        assertEquals("method=EmailImplementation.sendMail(..) outcome=REJECTED message=\"Invalid recipient\"",
+                appender.list.get(0).getFormattedMessage());
+        assertNull(appender.list.get(0).getThrowableProxy());
+    }
+}
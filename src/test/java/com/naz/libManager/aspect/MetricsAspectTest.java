@@ -0,0 +1,93 @@
+package com.naz.libManager.aspect;
+
+import com.naz.libManager.config.CacheConfiguration;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.service.serviceImplementation.CacheServiceImplementation;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MetricsAspectTest class contains test cases for the service method timers.
+ */
+@ExtendWith(SpringExtension.class)
+class MetricsAspectTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry registry;
+    private CacheServiceImplementation cacheService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CacheServiceImplementation(userRepository,
+                new CacheConfiguration().cacheManager("maximumSize=2", "maximumSize=2",
+                        "maximumSize=2", "maximumSize=2")));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsAspect(registry));
+        cacheService = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(Role role) {
+        User user = new User();
+        user.setEmailAddress("Naz@gmail.com");
+        user.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    /**
+     * Tests that successful calls share one timer tagged with the class and method.
+     */
+    @Test
+    void time_Success() {
+        authenticate(Role.ADMIN);
+        cacheService.getCacheStatistics();
+        cacheService.getCacheStatistics();
+
+        Timer timer = registry.get(MetricsAspect.SERVICE_TIMER)
+                .tags("class", "CacheServiceImplementation", "method", "getCacheStatistics",
+                        "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    /**
+     * Tests that failed calls are timed under their exception and the exception is rethrown.
+     */
+    @Test
+    void time_Failure() {
+        authenticate(Role.PATRON);
+
+        assertThrows(LibManagerException.class, () -> cacheService.getCacheStatistics());
+
+        Timer timer = registry.get(MetricsAspect.SERVICE_TIMER)
+                .tags("method", "getCacheStatistics", "outcome", "ERROR", "exception", "LibManagerException")
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(registry.find(MetricsAspect.SERVICE_TIMER).tag("outcome", "SUCCESS").timer());
+    }
+}
@@ -0,0 +1,92 @@
+package com.naz.libManager.aspect;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.exception.LibManagerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The RetryOnConflictAspectTest class contains test cases for retrying methods that lose a concurrent update.
+ */
+class RetryOnConflictAspectTest {
+    private SimpleMeterRegistry registry;
+    private ConflictingService target;
+    private ConflictingService service;
+
+    /**
+     * Fails with a stale version the given number of times before succeeding.
+     */
+    static class ConflictingService {
+        int conflicts;
+        int calls;
+
+        @RetryOnConflict(maxAttempts = 3, backoffMillis = 1)
+        public String update() {
+            calls++;
+            if(calls <= conflicts){
+                throw new ObjectOptimisticLockingFailureException(Book.class, UUID.randomUUID());
+            }
+            return "updated";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RetryOnConflictAspect(registry));
+        service = factory.getProxy();
+    }
+
+    private double conflicts(String outcome) {
+        return registry.get(RetryOnConflictAspect.CONFLICT_COUNTER)
+                .tags("class", "ConflictingService", "method", "update", "outcome", outcome)
+                .counter().count();
+    }
+
+    @Test
+    void retry_SucceedsAfterConflicts() {
+        target.conflicts = 2;
+
+        assertEquals("updated", service.update());
+        assertEquals(3, target.calls);
+        assertEquals(2, conflicts("retried"));
+        assertNull(registry.find(RetryOnConflictAspect.CONFLICT_COUNTER).tag("outcome", "exhausted").counter());
+    }
+
+    @Test
+    void retry_Exhausted() {
+        target.conflicts = 5;
+
+        LibManagerException exception = assertThrows(LibManagerException.class, () -> service.update());
+        assertEquals("This record was changed by another request. Please try again", exception.getMessage());
+        assertEquals(3, target.calls);
+        assertEquals(2, conflicts("retried"));
+        assertEquals(1, conflicts("exhausted"));
+    }
+
+    @Test
+    void retry_NoConflict() {
+        assertEquals("updated", service.update());
+        assertEquals(1, target.calls);
+        assertNull(registry.find(RetryOnConflictAspect.CONFLICT_COUNTER).counter());
+    }
+
+    @Test
+    void backoff_WithinDoublingCeiling() {
+        for(int i = 0; i < 1000; i++){
+            assertTrue(RetryOnConflictAspect.backoff(1, 25) <= 25);
+            long third = RetryOnConflictAspect.backoff(3, 25);
+            assertTrue(third >= 0 && third <= 100);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.naz.libManager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.event.BookChangedEvent;
+import com.naz.libManager.event.PatronChangedEvent;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.PatronDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The CatalogCacheTest class contains test cases for the serialized payload cache.
+ */
+class CatalogCacheTest {
+    private CatalogCache catalogCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        catalogCache = new CatalogCache(new CacheConfiguration().cacheManager("maximumSize=10",
+                "maximumSize=10", "maximumSize=10", "maximumSize=10"), new ObjectMapper());
+        loads = new AtomicInteger();
+    }
+
+    private BookDetail loadBookDetail() {
+        loads.incrementAndGet();
+        return new BookDetail("Things Fall Apart", "Chinua Achebe", 1958L, "9780385474542", false, 3, 0);
+    }
+
+    @Test
+    void getBookDetail_ReturnsIndependentSnapshots() {
+        UUID bookId = UUID.randomUUID();
+        catalogCache.getBookDetail(bookId, this::loadBookDetail);
+
+        BookDetail first = catalogCache.getBookDetail(bookId, this::loadBookDetail);
+        first.setTitle("Changed by a caller");
+        BookDetail second = catalogCache.getBookDetail(bookId, this::loadBookDetail);
+
+        assertEquals(1, loads.get());
+        assertEquals("Things Fall Apart", second.getTitle());
+        assertEquals(3, second.getTotalCopies());
+    }
+
+    @Test
+    void onBookChanged_EvictsDetailAndAllPages() {
+        UUID bookId = UUID.randomUUID();
+        catalogCache.getBookDetail(bookId, this::loadBookDetail);
+        catalogCache.getBookPage(0, 10, () -> {
+            loads.incrementAndGet();
+            return List.of(new BookData("Things Fall Apart", "Chinua Achebe"));
+        });
+
+        catalogCache.onBookChanged(new BookChangedEvent(bookId));
+        catalogCache.getBookDetail(bookId, this::loadBookDetail);
+        List<BookData> page = catalogCache.getBookPage(0, 10, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(4, loads.get());
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    void onBookChanged_EvictsPatronDetails() {
+        UUID patronId = UUID.randomUUID();
+        catalogCache.getPatronDetail(patronId, () -> {
+            loads.incrementAndGet();
+            return new PatronDetail("Naz", "Okafor", "Naz@gmail.com", "08123484382",
+                    List.of(new BookData("Things Fall Apart", "Chinua Achebe")));
+        });
+
+        catalogCache.onBookChanged(new BookChangedEvent(UUID.randomUUID()));
+        PatronDetail detail = catalogCache.getPatronDetail(patronId, () -> {
+            loads.incrementAndGet();
+            return new PatronDetail("Naz", "Okafor", "Naz@gmail.com", "08123484382",
+                    List.of(new BookData("Things Fall Apart (50th Anniversary Edition)", "Chinua Achebe")));
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("Things Fall Apart (50th Anniversary Edition)", detail.getBooksBorrowed().get(0).getTitle());
+    }
+
+    @Test
+    void getBookPage_DoesNotCacheLargePages() {
+        for (int i = 0; i < 2; i++) {
+            catalogCache.getBookPage(0, CacheConfiguration.MAX_CACHED_PAGE_SIZE + 1, () -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+        }
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void read_DoesNotCacheValueLoadedDuringEviction() {
+        UUID patronId = UUID.randomUUID();
+        catalogCache.getPatronDetail(patronId, () -> {
+            loads.incrementAndGet();
+            catalogCache.onPatronChanged(new PatronChangedEvent(patronId));
+            return new PatronDetail("Naz", "Okafor", "Naz@gmail.com", "08123484382", List.of());
+        });
+        catalogCache.getPatronDetail(patronId, () -> {
+            loads.incrementAndGet();
+            return new PatronDetail();
+        });
+
+        assertEquals(2, loads.get());
+    }
+}
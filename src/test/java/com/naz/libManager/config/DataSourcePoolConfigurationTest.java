@@ -0,0 +1,53 @@
+package com.naz.libManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The DataSourcePoolConfigurationTest class contains test cases for sizing the connection pool from the CPU count.
+ */
+class DataSourcePoolConfigurationTest {
+
+    @Test
+    void poolSize_FromCores() {
+        assertEquals(3, DataSourcePoolConfiguration.poolSize(1, 1, 50));
+        assertEquals(17, DataSourcePoolConfiguration.poolSize(8, 1, 50));
+        assertEquals(20, DataSourcePoolConfiguration.poolSize(8, 4, 50));
+    }
+
+    @Test
+    void poolSize_CappedByMaxSize() {
+        assertEquals(50, DataSourcePoolConfiguration.poolSize(64, 1, 50));
+        assertEquals(2, DataSourcePoolConfiguration.poolSize(4, 1, 1));
+    }
+
+    @Test
+    void hikariPoolSizer_FixedSizePool() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("LibManager.datasource.pool.max-size", "2");
+        BeanPostProcessor sizer = DataSourcePoolConfiguration.hikariPoolSizer(environment);
+
+        try(HikariDataSource dataSource = new HikariDataSource()){
+            sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+            assertEquals(2, dataSource.getMaximumPoolSize());
+            assertEquals(2, dataSource.getMinimumIdle());
+        }
+    }
+
+    @Test
+    void hikariPoolSizer_ExplicitSizeWins() {
+        BeanPostProcessor sizer = DataSourcePoolConfiguration.hikariPoolSizer(new MockEnvironment());
+
+        try(HikariDataSource dataSource = new HikariDataSource()){
+            dataSource.setMaximumPoolSize(7);
+            sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+            assertEquals(7, dataSource.getMaximumPoolSize());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.naz.libManager.config;
+
+import com.naz.libManager.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PrincipalCacheTest class contains test cases for the authenticated user cache.
+ */
+class PrincipalCacheTest {
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(10, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    private User loadUser(String emailAddress) {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmailAddress(emailAddress);
+        user.setPassword("encoded");
+        return user;
+    }
+
+    @Test
+    void get_ReturnsIndependentCopies() {
+        User first = principalCache.get("naz@gmail.com", this::loadUser);
+        first.setPassword("changed");
+
+        User second = principalCache.get("naz@gmail.com", this::loadUser);
+
+        assertNotSame(first, second);
+        assertEquals(first.getId(), second.getId());
+        assertEquals("encoded", second.getPassword());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextGet() {
+        principalCache.get("naz@gmail.com", this::loadUser);
+        principalCache.invalidate("naz@gmail.com");
+        principalCache.get("naz@gmail.com", this::loadUser);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_DropsLoadOverlappingInvalidation() {
+        principalCache.get("naz@gmail.com", email -> {
+            principalCache.invalidate(email);
+            return loadUser(email);
+        });
+        principalCache.get("naz@gmail.com", this::loadUser);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -1,10 +1,14 @@
 package com.naz.libManager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.config.CatalogResponseCache;
 import com.naz.libManager.dto.BookRequest;
 import com.naz.libManager.payload.ApiResponse;
 import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.CursorPage;
+import com.naz.libManager.payload.ImportResult;
+import com.naz.libManager.service.BookImportService;
 import com.naz.libManager.service.BookService;
 import com.naz.libManager.service.serviceImplementation.JwtImplementation;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,18 +28,23 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = BookController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+@Import(CatalogResponseCache.class)
 class BookControllerTest {
 
     @Autowired
@@ -42,6 +53,9 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookImportService bookImportService;
+
     @MockBean
     JwtImplementation jwtImplementation;
 
@@ -53,7 +67,7 @@ class BookControllerTest {
 
     @Test
     void createBook() throws Exception {
-        BookRequest bookRequest = new BookRequest("Title", "Author", 2024L, "0983637484246");
+        BookRequest bookRequest = new BookRequest("Title", "Author", 2024L, "0983637484246", null);
         ApiResponse<String> apiResponse = new ApiResponse<>("Book created successfully", HttpStatus.OK);
 
         when(bookService.addBook(any(BookRequest.class))).thenReturn(ResponseEntity.ok(apiResponse));
@@ -67,6 +81,24 @@ class BookControllerTest {
         verify(bookService).addBook(any(BookRequest.class));
     }
 
+    @Test
+    void importBooks() throws Exception {
+        ImportResult importResult = new ImportResult(2, 0, new ArrayList<>());
+        ApiResponse<ImportResult> apiResponse = new ApiResponse<>(importResult, "2 books imported, 0 rows failed");
+
+        when(bookImportService.importBooks(any(InputStream.class), startsWith("text/csv")))
+                .thenReturn(ResponseEntity.ok(apiResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/books/import")
+                        .contentType("text/csv")
+                        .content("title,author,publicationYear,isbn\nTitle,Author,2024,0689232738273\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.message").value("2 books imported, 0 rows failed"));
+
+        verify(bookImportService).importBooks(any(InputStream.class), startsWith("text/csv"));
+    }
+
     @Test
     void getBooks() throws Exception {
         List<BookData> bookList = new ArrayList<>();
@@ -86,6 +118,41 @@ class BookControllerTest {
         verify(bookService).getAllBooks(anyInt(), anyInt());
     }
 
+    @Test
+    void scrollBooks() throws Exception {
+        CursorPage<BookData> slice = new CursorPage<>(List.of(new BookData()), "next-token", true);
+        ApiResponse<CursorPage<BookData>> apiResponse = new ApiResponse<>(slice, "Available books successfully fetched");
+
+        when(bookService.scrollBooks(any(), anyInt())).thenReturn(ResponseEntity.ok(apiResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/scroll")
+                        .param("cursor", "token")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+
+        verify(bookService).scrollBooks("token", 20);
+    }
+
+    @Test
+    void searchBooks() throws Exception {
+        List<BookData> bookList = new ArrayList<>();
+        bookList.add(new BookData("Introduction to Java", "Naztarr"));
+
+        ApiResponse<List<BookData>> apiResponse = new ApiResponse<>(bookList, "Matching books successfully fetched");
+
+        when(bookService.searchBooks(anyString(), anyInt(), anyInt())).thenReturn(ResponseEntity.ok(apiResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/search")
+                        .param("query", "java intro"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Matching books successfully fetched"))
+                .andExpect(jsonPath("$.data[0].title").value("Introduction to Java"));
+
+        verify(bookService).searchBooks("java intro", 0, 10);
+    }
+
     @Test
     void getBookDetail() throws Exception {
         UUID id = UUID.randomUUID();
@@ -102,10 +169,35 @@ class BookControllerTest {
         verify(bookService).viewBookDetail(any(UUID.class));
     }
 
+    @Test
+    void getBookDetail_ServesCachedBodyAndNotModified() throws Exception {
+        UUID id = UUID.randomUUID();
+        ApiResponse<BookDetail> apiResponse = new ApiResponse<>(new BookDetail(), "Book details fetched successfully");
+
+        when(bookService.viewBookDetail(id)).thenReturn(ResponseEntity.ok(apiResponse));
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.message").value("Book details fetched successfully"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(bookService, times(1)).viewBookDetail(id);
+    }
+
     @Test
     void updateBookDetail() throws Exception {
         UUID id = UUID.randomUUID();
-        BookRequest bookRequest = new BookRequest("Title", "Author", 2024L, "0364738465");
+        BookRequest bookRequest = new BookRequest("Title", "Author", 2024L, "0364738465", null);
 
         ApiResponse<String> apiResponse = new ApiResponse<>("Book details updated successfully", HttpStatus.OK);
 
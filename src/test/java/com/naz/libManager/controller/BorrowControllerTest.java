@@ -3,6 +3,9 @@ package com.naz.libManager.controller;
 import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.CursorPage;
 import com.naz.libManager.service.BookService;
 import com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation;
 import com.naz.libManager.service.serviceImplementation.JwtImplementation;
@@ -22,9 +25,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -89,5 +96,40 @@ class BorrowControllerTest {
         verify(borrowingService).returnBook(any(UUID.class), any(UUID.class));
     }
 
+    @Test
+    void getPatronHistory() throws Exception {
+        UUID patronId = UUID.randomUUID();
+        BorrowRecordData record = new BorrowRecordData(new BookData("Things Fall Apart", "Chinua Achebe"), null,
+                LocalDateTime.now().minusDays(3), null, false);
+
+        when(borrowingService.getPatronHistory(patronId, "next", 5))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(new CursorPage<>(List.of(record), "after", true),
+                        "Borrow history successfully fetched")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/patrons/{patronId}/borrow-history", patronId)
+                        .param("cursor", "next")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Borrow history successfully fetched"))
+                .andExpect(jsonPath("$.data.content[0].book.title").value("Things Fall Apart"))
+                .andExpect(jsonPath("$.data.content[0].returned").value(false))
+                .andExpect(jsonPath("$.data.nextCursor").value("after"));
+
+        verify(borrowingService).getPatronHistory(eq(patronId), eq("next"), eq(5));
+    }
 
+    @Test
+    void getBookHistory() throws Exception {
+        UUID bookId = UUID.randomUUID();
+
+        when(borrowingService.getBookHistory(bookId, null, 10))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(new CursorPage<>(List.of(), null, false),
+                        "Circulation history successfully fetched")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{bookId}/borrow-history", bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Circulation history successfully fetched"));
+
+        verify(borrowingService).getBookHistory(eq(bookId), isNull(), eq(10));
+    }
 }
@@ -0,0 +1,54 @@
+package com.naz.libManager.controller;
+
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.CacheStatistics;
+import com.naz.libManager.service.CacheService;
+import com.naz.libManager.service.serviceImplementation.JwtImplementation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = CacheController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+class CacheControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    CacheService cacheService;
+    @MockBean
+    JwtImplementation jwtImplementation;
+    @MockBean
+    UserDetailsService userDetailsService;
+
+    @Test
+    void getCacheStatistics() throws Exception {
+        List<CacheStatistics> statistics = List.of(new CacheStatistics("bookDetail", 1, 3, 1, 0.75, 0));
+        when(cacheService.getCacheStatistics())
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(statistics, "Cache statistics successfully fetched")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Cache statistics successfully fetched"))
+                .andExpect(jsonPath("$.data[0].name").value("bookDetail"))
+                .andExpect(jsonPath("$.data[0].hitCount").value(3));
+
+        verify(cacheService).getCacheStatistics();
+    }
+}
@@ -0,0 +1,82 @@
+package com.naz.libManager.controller;
+
+import com.naz.libManager.enums.HoldStatus;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.HoldData;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.service.serviceImplementation.JwtImplementation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = HoldController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+class HoldControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    HoldService holdService;
+    @MockBean
+    JwtImplementation jwtImplementation;
+    @MockBean
+    UserDetailsService userDetailsService;
+
+    @Test
+    void placeHold() throws Exception {
+        UUID bookId = UUID.randomUUID();
+        when(holdService.placeHold(bookId))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>("Hold placed", HttpStatus.OK)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/books/{bookId}/holds", bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Hold placed"));
+
+        verify(holdService).placeHold(bookId);
+    }
+
+    @Test
+    void getHolds() throws Exception {
+        HoldData hold = new HoldData(UUID.randomUUID(), UUID.randomUUID(), "Things Fall Apart", "Chinua Achebe",
+                HoldStatus.WAITING, 2L, null);
+        when(holdService.getHolds())
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(List.of(hold), "Holds successfully fetched")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/holds"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("Things Fall Apart"))
+                .andExpect(jsonPath("$.data[0].status").value("WAITING"))
+                .andExpect(jsonPath("$.data[0].position").value(2));
+    }
+
+    @Test
+    void cancelHold() throws Exception {
+        UUID holdId = UUID.randomUUID();
+        when(holdService.cancelHold(holdId))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>("Hold successfully cancelled", HttpStatus.OK)));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/holds/{holdId}", holdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Hold successfully cancelled"));
+
+        verify(holdService).cancelHold(holdId);
+    }
+}
@@ -89,7 +89,7 @@ void getPatrons() throws Exception {
                 .body(new ApiResponse<>(patronDetail, "Patron details successfully fetched"));
 
         // Mock service method call
-        when(patronService.viewPatronDetail(any(UUID.class))).thenReturn(returnResponse);
+        when(patronService.viewPatronDetail(any(UUID.class), any(Integer.class), any(Integer.class))).thenReturn(returnResponse);
 
         // Act and Assert
         mockMvc.perform(MockMvcRequestBuilders.get("/api/patrons/{id}", patronId)
@@ -100,7 +100,7 @@ void getPatrons() throws Exception {
                 .andExpect(jsonPath("$.data").exists());
 
         // Verify that patronService.viewPatronDetail is called with the correct argument
-        verify(patronService).viewPatronDetail(any(UUID.class));
+        verify(patronService).viewPatronDetail(any(UUID.class), any(Integer.class), any(Integer.class));
     }
 
     @Test
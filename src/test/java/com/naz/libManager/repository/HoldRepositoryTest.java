@@ -0,0 +1,228 @@
+package com.naz.libManager.repository;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.Hold;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.HoldStatus;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.payload.HoldData;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation;
+import com.naz.libManager.service.serviceImplementation.EmailImplementation;
+import com.naz.libManager.service.serviceImplementation.HoldServiceImplementation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The HoldRepositoryTest class exercises the hold queue against an in-memory database.
+ * Every operation runs in its own transaction, as it would behind the controller.
+ */
+@DataJpaTest(showSql = false,
+        properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BorrowingServiceImplementation.class, HoldServiceImplementation.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HoldRepositoryTest {
+    private static final int PATRONS = 8;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private BorrowingServiceImplementation borrowingService;
+    @Autowired
+    private HoldServiceImplementation holdService;
+    @Autowired
+    private HoldRepository holdRepository;
+    @Autowired
+    private RecordRepository recordRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private EmailImplementation emailImplementation;
+
+    private List<User> patrons;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        patrons = new ArrayList<>();
+        for(int i = 0; i < PATRONS; i++){
+            User patron = new User();
+            patron.setFirstName("Patron" + i);
+            patron.setEmailAddress("patron" + i + "@gmail.com");
+            patron.setRole(Role.PATRON);
+            patrons.add(userRepository.save(patron));
+        }
+
+        book = new Book();
+        book.setTitle("Things Fall Apart");
+        book.setAuthor("Chinua Achebe");
+        book = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        holdRepository.deleteAll();
+        recordRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private void actAs(User patron) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+    }
+
+    private Hold holdOf(User patron) {
+        return holdRepository.findAll().stream()
+                .filter(hold -> hold.getPatron().getId().equals(patron.getId()))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    /**
+     * Tests that a returned book is reserved for the head of the queue and can only be borrowed by that patron.
+     */
+    @Test
+    void returnBook_HandsOffToQueueHead() {
+        User borrower = patrons.get(0), first = patrons.get(1), second = patrons.get(2);
+        actAs(borrower);
+        borrowingService.borrowBook(book.getId(), borrower.getId());
+        actAs(first);
+        holdService.placeHold(book.getId());
+        actAs(second);
+        holdService.placeHold(book.getId());
+
+        actAs(borrower);
+        borrowingService.returnBook(book.getId(), borrower.getId());
+
+        assertFalse(bookRepository.findById(book.getId()).orElseThrow().getAvailable());
+        assertEquals(HoldStatus.READY, holdOf(first).getStatus());
+        verify(emailImplementation).queueMail(anyString(), anyString(), eq(first.getEmailAddress()));
+
+        actAs(second);
+        List<HoldData> holds = holdService.getHolds().getBody().getData();
+        assertEquals(1, holds.size());
+        assertEquals(1L, holds.get(0).getPosition());
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.borrowBook(book.getId(), second.getId()));
+        assertEquals("This book is not available", exception.getMessage());
+
+        actAs(first);
+        borrowingService.borrowBook(book.getId(), first.getId());
+        assertEquals(HoldStatus.FULFILLED, holdOf(first).getStatus());
+        assertNotNull(recordRepository.findByPatronIdAndOpenBookId(first.getId(), book.getId()));
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    /**
+     * Tests that the sweeper passes a book on when its pickup deadline passes, and shelves it when nobody is waiting.
+     */
+    @Test
+    void expireHolds_PassesBookOn() {
+        User borrower = patrons.get(0), first = patrons.get(1), second = patrons.get(2);
+        actAs(borrower);
+        borrowingService.borrowBook(book.getId(), borrower.getId());
+        actAs(first);
+        holdService.placeHold(book.getId());
+        actAs(second);
+        holdService.placeHold(book.getId());
+        actAs(borrower);
+        borrowingService.returnBook(book.getId(), borrower.getId());
+
+        expire(holdOf(first));
+        holdService.expireHolds();
+        assertEquals(HoldStatus.EXPIRED, holdOf(first).getStatus());
+        assertEquals(HoldStatus.READY, holdOf(second).getStatus());
+
+        expire(holdOf(second));
+        holdService.expireHolds();
+        assertEquals(HoldStatus.EXPIRED, holdOf(second).getStatus());
+        assertTrue(bookRepository.findById(book.getId()).orElseThrow().getAvailable());
+    }
+
+    private void expire(Hold hold) {
+        hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        holdRepository.save(hold);
+    }
+
+    /**
+     * Tests that holds placed while the book is being returned are never stranded: afterwards the book is
+     * either on the shelf with nobody waiting, or reserved for exactly one patron.
+     */
+    @Test
+    void placeHold_ConcurrentWithReturn() throws Exception {
+        User borrower = patrons.get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(PATRONS);
+        try{
+            for(int round = 0; round < ROUNDS; round++){
+                holdRepository.deleteAll();
+                Book shelved = bookRepository.findById(book.getId()).orElseThrow();
+                shelved.setAvailable(true);
+                shelved.setAvailableCopies(1);
+                bookRepository.save(shelved);
+                actAs(borrower);
+                borrowingService.borrowBook(book.getId(), borrower.getId());
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for(User patron : patrons){
+                    futures.add(executor.submit(() -> {
+                        actAs(patron);
+                        start.await();
+                        try{
+                            if(patron == borrower){
+                                borrowingService.returnBook(book.getId(), borrower.getId());
+                            } else{
+                                holdService.placeHold(book.getId());
+                            }
+                        } catch(LibManagerException e){
+                            assertEquals("This book is available to borrow", e.getMessage());
+                        } finally{
+                            SecurityContextHolder.clearContext();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for(Future<?> future : futures){
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                List<Hold> holds = holdRepository.findAll();
+                long ready = holds.stream().filter(hold -> hold.getStatus() == HoldStatus.READY).count();
+                if(bookRepository.findById(book.getId()).orElseThrow().getAvailable()){
+                    assertTrue(holds.isEmpty(), "round " + round + ": holds stranded behind a shelved book");
+                } else{
+                    assertEquals(1, ready, "round " + round);
+                }
+            }
+        } finally{
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.naz.libManager.repository;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.BookRecord;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.service.serviceImplementation.BorrowingServiceImplementation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The RecordRepositoryTest class exercises the open-loan lookup against an in-memory database.
+ * Every borrow and return runs in its own transaction, as it would behind the controller.
+ */
+@DataJpaTest(showSql = false,
+        properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BorrowingServiceImplementation.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecordRepositoryTest {
+    private static final int CYCLES = 2000;
+    private static final int COPIES = 5;
+    private static final int BORROWERS = 20;
+
+    @Autowired
+    private BorrowingServiceImplementation borrowingService;
+    @Autowired
+    private RecordRepository recordRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private HoldService holdService;
+
+    private User patron;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        patron = new User();
+        patron.setEmailAddress("Naz@gmail.com");
+        patron.setRole(Role.PATRON);
+        patron = userRepository.save(patron);
+
+        book = new Book();
+        book.setTitle("Things Fall Apart");
+        book.setAuthor("Chinua Achebe");
+        book = bookRepository.save(book);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patron, null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        recordRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the open loan is found after the same book has been borrowed and returned thousands of times.
+     */
+    @Test
+    void borrowAndReturn_SameBookRepeatedly() {
+        for (int i = 0; i < CYCLES; i++) {
+            borrowingService.borrowBook(book.getId(), patron.getId());
+
+            BookRecord openLoan = recordRepository.findByPatronIdAndOpenBookId(patron.getId(), book.getId());
+            assertNotNull(openLoan);
+            assertFalse(openLoan.getReturned());
+
+            borrowingService.returnBook(book.getId(), patron.getId());
+            assertNull(recordRepository.findByPatronIdAndOpenBookId(patron.getId(), book.getId()));
+        }
+
+        assertEquals(CYCLES, recordRepository.count());
+        assertEquals(CYCLES, recordRepository.findBookHistory(book.getId(), PageRequest.of(0, CYCLES))
+                .stream().filter(BookRecord::getReturned).count());
+        assertTrue(bookRepository.findById(book.getId()).orElseThrow().getAvailable());
+    }
+
+    /**
+     * Tests that seeking past the last (borrowedAt, id) pages through a book's history once, most recent first,
+     * even when loans share a borrow time.
+     */
+    @Test
+    void bookHistory_KeysetVisitsEveryLoanOnce() {
+        for (int i = 0; i < 7; i++) {
+            borrowingService.borrowBook(book.getId(), patron.getId());
+            borrowingService.returnBook(book.getId(), patron.getId());
+        }
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("UPDATE book_records SET borrowed_at = :borrowedAt")
+                .setParameter("borrowedAt", borrowedAt)
+                .executeUpdate());
+
+        List<UUID> visited = new ArrayList<>();
+        Slice<BookRecord> slice = recordRepository.findBookHistory(book.getId(), PageRequest.of(0, 3));
+        visited.addAll(slice.map(BookRecord::getId).getContent());
+        while (slice.hasNext()) {
+            BookRecord last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            slice = recordRepository.findBookHistoryBefore(book.getId(), last.getBorrowedAt(), last.getId(),
+                    PageRequest.of(0, 3));
+            visited.addAll(slice.map(BookRecord::getId).getContent());
+        }
+
+        List<UUID> expected = recordRepository.findAll().stream()
+                .map(BookRecord::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        assertEquals(expected, visited);
+    }
+
+    /**
+     * Tests that the database refuses a second open loan of the same book by the same patron.
+     */
+    @Test
+    void openLoan_UniquePerPatron() {
+        borrowingService.borrowBook(book.getId(), patron.getId());
+
+        BookRecord duplicate = new BookRecord();
+        duplicate.setBook(book);
+        duplicate.setPatron(patron);
+        duplicate.setOpenBookId(book.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> recordRepository.saveAndFlush(duplicate));
+    }
+
+    /**
+     * Tests that borrowing and returning move the book's version on, so an edit made from a copy read before
+     * them fails instead of writing back the old copy counts.
+     */
+    @Test
+    void updateBook_ConflictsWithBorrow() {
+        Book stale = bookRepository.findById(book.getId()).orElseThrow();
+
+        borrowingService.borrowBook(book.getId(), patron.getId());
+        borrowingService.returnBook(book.getId(), patron.getId());
+        assertEquals(stale.getVersion() + 2, bookRepository.findById(book.getId()).orElseThrow().getVersion());
+
+        stale.setTitle("Arrow of God");
+        stale.setAvailableCopies(0);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookRepository.save(stale));
+        Book current = bookRepository.findById(book.getId()).orElseThrow();
+        assertEquals("Things Fall Apart", current.getTitle());
+        assertEquals(1, current.getAvailableCopies());
+    }
+
+    /**
+     * Tests that the open-loan lookup is answered from the unique index rather than a scan of book_records.
+     */
+    @Test
+    void findOpenLoan_UsesIndex() {
+        String plan = transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("EXPLAIN SELECT * FROM book_records WHERE patron_id = ?1 AND open_book_id = ?2")
+                .setParameter(1, UUID.randomUUID())
+                .setParameter(2, UUID.randomUUID())
+                .getSingleResult()
+                .toString());
+
+        assertTrue(plan.toUpperCase().contains("RECORD_OPEN_LOAN_IDX"), plan);
+    }
+
+    /**
+     * Tests that concurrent borrowers of a title get exactly as many loans as there are copies,
+     * and that every copy is back on the shelf once they are returned.
+     */
+    @Test
+    void borrowCopies_Concurrently() throws Exception {
+        Book title = bookRepository.findById(book.getId()).orElseThrow();
+        title.setTotalCopies(COPIES);
+        title.setAvailableCopies(COPIES);
+        bookRepository.save(title);
+
+        List<User> borrowers = new ArrayList<>();
+        for (int i = 0; i < BORROWERS; i++) {
+            User borrower = new User();
+            borrower.setEmailAddress("borrower" + i + "@gmail.com");
+            borrower.setRole(Role.PATRON);
+            borrowers.add(userRepository.save(borrower));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (User borrower : borrowers) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(borrower, null, Collections.emptyList()));
+                start.await();
+                try {
+                    borrowingService.borrowBook(book.getId(), borrower.getId());
+                    return true;
+                } catch (LibManagerException e) {
+                    assertEquals("This book is not available", e.getMessage());
+                    return false;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+        start.countDown();
+        List<User> lenders = new ArrayList<>();
+        for (int i = 0; i < BORROWERS; i++) {
+            if (results.get(i).get(30, TimeUnit.SECONDS)) {
+                lenders.add(borrowers.get(i));
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(COPIES, lenders.size());
+        Book borrowed = bookRepository.findById(book.getId()).orElseThrow();
+        assertEquals(0, borrowed.getAvailableCopies());
+        assertFalse(borrowed.getAvailable());
+
+        for (User lender : lenders) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(lender, null, Collections.emptyList()));
+            borrowingService.returnBook(book.getId(), lender.getId());
+        }
+        Book returned = bookRepository.findById(book.getId()).orElseThrow();
+        assertEquals(COPIES, returned.getAvailableCopies());
+        assertTrue(returned.getAvailable());
+    }
+}
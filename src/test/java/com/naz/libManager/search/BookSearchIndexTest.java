@@ -0,0 +1,157 @@
+package com.naz.libManager.search;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.payload.BookData;
+import com.naz.libManager.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The BookSearchIndexTest class contains test cases for the in-memory BookSearchIndex.
+ */
+@ExtendWith(SpringExtension.class)
+class BookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    private Book java;
+    private Book spring;
+
+    /**
+     * Builds the index from two books held by the repository.
+     */
+    @BeforeEach
+    void setUp() {
+        java = createBook("Introduction to Java", "Chinaza Herbert");
+        spring = createBook("Spring in Action", "Craig Walls");
+        when(bookRepository.findAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of(java, spring));
+        bookSearchIndex.rebuild();
+    }
+
+    private Book createBook(String title, String author) {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setAvailable(true);
+        return book;
+    }
+
+    private List<String> titles(List<BookData> books) {
+        return books.stream().map(BookData::getTitle).toList();
+    }
+
+    @Test
+    void search_MatchesTitleAndAuthorIgnoringCase() {
+        assertEquals(List.of("Introduction to Java"), titles(bookSearchIndex.search("JAVA", 0, 10)));
+        assertEquals(List.of("Spring in Action"), titles(bookSearchIndex.search("walls", 0, 10)));
+    }
+
+    @Test
+    void search_LastTermMatchesAsPrefix() {
+        assertEquals(List.of("Introduction to Java"), titles(bookSearchIndex.search("herbert intro", 0, 10)));
+        assertTrue(bookSearchIndex.search("intro herbert", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_RequiresEveryTerm() {
+        assertEquals(List.of("Spring in Action"), titles(bookSearchIndex.search("spring craig", 0, 10)));
+        assertTrue(bookSearchIndex.search("spring java", 0, 10).isEmpty());
+        assertTrue(bookSearchIndex.search("  ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_Paginates() {
+        assertEquals(1, bookSearchIndex.search("i", 0, 1).size());
+        assertEquals(1, bookSearchIndex.search("i", 1, 1).size());
+        assertTrue(bookSearchIndex.search("i", 2, 1).isEmpty());
+    }
+
+    @Test
+    void refreshAvailability_HidesBorrowedBooks() {
+        when(bookRepository.isAvailable(java.getId())).thenReturn(false);
+        bookSearchIndex.refreshAvailability(java.getId());
+        assertTrue(bookSearchIndex.search("java", 0, 10).isEmpty());
+
+        when(bookRepository.isAvailable(java.getId())).thenReturn(true);
+        bookSearchIndex.refreshAvailability(java.getId());
+        assertEquals(1, bookSearchIndex.search("java", 0, 10).size());
+    }
+
+    /**
+     * A return's after-commit callback that runs after the callback of a later borrow must not show the book again.
+     */
+    @Test
+    void refreshAvailability_LateCallbackKeepsCommittedState() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> callbacks;
+        try {
+            bookSearchIndex.refreshAvailability(java.getId());
+            bookSearchIndex.refreshAvailability(java.getId());
+            callbacks = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(bookRepository.isAvailable(java.getId())).thenReturn(false);
+
+        callbacks.get(1).afterCommit();
+        callbacks.get(0).afterCommit();
+
+        assertTrue(bookSearchIndex.search("java", 0, 10).isEmpty());
+    }
+
+    @Test
+    void index_ReplacesPreviousTerms() {
+        java.setTitle("Effective Kotlin");
+        bookSearchIndex.index(java);
+
+        assertTrue(bookSearchIndex.search("java", 0, 10).isEmpty());
+        assertEquals(List.of("Effective Kotlin"), titles(bookSearchIndex.search("kotlin", 0, 10)));
+    }
+
+    @Test
+    void remove_DropsBook() {
+        bookSearchIndex.remove(spring.getId());
+        assertTrue(bookSearchIndex.search("spring", 0, 10).isEmpty());
+    }
+
+    /**
+     * Tests that the rebuild asks for each batch after the last id of the one before, until a batch comes back short.
+     */
+    @Test
+    void rebuild_SeeksPastLastId() {
+        List<Book> full = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            full.add(createBook("Volume " + i, "Anonymous"));
+        }
+        Book last = full.get(full.size() - 1);
+        clearInvocations(bookRepository);
+        when(bookRepository.findAfter(eq(new UUID(0L, 0L)), any(Pageable.class))).thenReturn(full);
+        when(bookRepository.findAfter(eq(last.getId()), any(Pageable.class))).thenReturn(List.of(java));
+
+        bookSearchIndex.rebuild();
+
+        verify(bookRepository, times(2)).findAfter(any(UUID.class), any(Pageable.class));
+        assertEquals(1, bookSearchIndex.search("volume 999", 0, 10).size());
+        assertEquals(1, bookSearchIndex.search("java", 0, 10).size());
+        assertTrue(bookSearchIndex.search("spring", 0, 10).isEmpty());
+    }
+}
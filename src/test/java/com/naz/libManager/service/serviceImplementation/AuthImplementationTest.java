@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,7 +21,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -36,6 +41,10 @@ class AuthImplementationTest {
     private JwtImplementation jwtImplementation;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmailImplementation emailImplementation;
     @InjectMocks
     private AuthImplementation authImplementation;
 
@@ -67,6 +76,8 @@ class AuthImplementationTest {
         assertEquals(String.format("Welcome! '%s'. You have successfully signed up", signupDto.firstName()),
                 response.getBody().getMessage());
         assertEquals(200, response.getBody().getStatusCode());
+        verify(emailImplementation).queueMail(anyString(), eq("Verify your email address"), eq(signupDto.emailAddress()));
+        verify(emailImplementation, never()).sendMail(anyString(), anyString(), anyString());
     }
 
     /**
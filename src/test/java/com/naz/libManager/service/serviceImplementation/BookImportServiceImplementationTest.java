@@ -0,0 +1,154 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.ImportResult;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * The BookImportServiceImplementationTest class contains test cases for the bulk book import.
+ */
+@ExtendWith(SpringExtension.class)
+class BookImportServiceImplementationTest {
+    private static final String HEADER = "title,author,publicationYear,isbn\n";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookImportServiceImplementation bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bookImportService = new BookImportServiceImplementation(userRepository, bookRepository, bookSearchIndex,
+                eventPublisher, new ObjectMapper(), validator, transactionManager);
+        ReflectionTestUtils.setField(bookImportService, "batchSize", 2);
+        when(bookRepository.findExistingTitles(anyCollection())).thenReturn(Set.of());
+        authenticate(Role.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(Role role) {
+        User user = new User();
+        user.setEmailAddress("Naz@gmail.com");
+        user.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    private ImportResult importCsv(String csv) {
+        ResponseEntity<ApiResponse<ImportResult>> response = bookImportService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "text/csv");
+        return response.getBody().getData();
+    }
+
+    @Test
+    void importBooks_InsertsInBatches() {
+        ImportResult result = importCsv(HEADER +
+                "Title one,Author,2024,0689232738273\n" +
+                "Title two,Author,2024,0689232738274\n" +
+                "Title three,Author,2024,0689232738275\n");
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        verify(bookRepository, times(2)).saveAll(anyList());
+        verify(bookSearchIndex, times(3)).index(any(Book.class));
+    }
+
+    @Test
+    void importBooks_ReportsInvalidAndDuplicateRows() {
+        Set<String> titles = new HashSet<>(Set.of("Existing title"));
+        when(bookRepository.findExistingTitles(anyCollection())).thenAnswer(invocation -> titles);
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            books.forEach(book -> titles.add(book.getTitle()));
+            return books;
+        });
+
+        ImportResult result = importCsv(HEADER +
+                "Existing title,Author,2024,0689232738273\n" +
+                ",Author,2024,0689232738274\n" +
+                "New title,Author,2024,0689232738275\n" +
+                "New title,Author,2024,0689232738276\n");
+
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 1L, 4L), result.getErrors().stream().map(error -> error.getRow()).toList());
+        assertEquals("Title is required", result.getErrors().get(0).getMessage());
+        assertEquals("A book with this title already exists", result.getErrors().get(1).getMessage());
+        assertEquals("A book with this title already exists", result.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void importBooks_IsolatesRowsOfAFailedBatch() {
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            if (books.size() > 1 || books.get(0).getTitle().equals("Taken concurrently")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return books;
+        });
+
+        ImportResult result = importCsv(HEADER +
+                "Taken concurrently,Author,2024,0689232738273\n" +
+                "Free title,Author,2024,0689232738274\n");
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals("Taken concurrently", result.getErrors().get(0).getTitle());
+    }
+
+    @Test
+    void importBooks_Unauthorized() {
+        authenticate(Role.PATRON);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> importCsv(HEADER));
+        assertEquals("You are not authorized to do this", exception.getMessage());
+    }
+}
@@ -1,24 +1,33 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.config.CatalogCache;
 import com.naz.libManager.dto.BookRequest;
 import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.enums.Role;
+import com.naz.libManager.event.BookChangedEvent;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.payload.ApiResponse;
 import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.BookDetail;
+import com.naz.libManager.payload.CursorPage;
 import com.naz.libManager.repository.BookRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.Spy;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -27,13 +36,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -44,6 +58,14 @@ class BookServiceImplementationTest {
     private BookRepository bookRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private HoldService holdService;
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(new NoOpCacheManager(), new ObjectMapper());
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private BookServiceImplementation bookService;
 
@@ -74,12 +96,13 @@ class BookServiceImplementationTest {
     @Test
     void addBook_Success() {
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Naz@gmail.com";
         User mockUser = createUser();
         mockUser.setRole(Role.ADMIN);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ResponseEntity<ApiResponse<String>> response = bookService.addBook(bookRequest);
 
@@ -87,13 +110,14 @@ class BookServiceImplementationTest {
         assertEquals(200, response.getBody().getStatusCode());
         assertEquals(String.format("'%s' by %s has been added successfully", bookRequest.title(),
                 bookRequest.author()), response.getBody().getMessage());
+        verify(eventPublisher).publishEvent(any(BookChangedEvent.class));
     }
 
 
     @Test
     void addBook_UserNotFound() {
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Nz@gmail.com";
         User mockUser = createUser();
         mockUser.setRole(Role.ADMIN);
@@ -111,7 +135,7 @@ class BookServiceImplementationTest {
     @Test
     void addBook_Unauthorized() {
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Naz@gmail.com";
         User mockUser = createUser();
         mockUser.setRole(Role.PATRON);
@@ -127,27 +151,17 @@ class BookServiceImplementationTest {
     @Test
     void getAllBooks_Success() {
         Pageable pageable = PageRequest.of(0, 1);
-        Book book = new Book();
-        book.setAvailable(true);
-        Book book1 = new Book();
-        book1.setAvailable(true);
-        Book book2 = new Book();
-        book2.setAvailable(true);
-        Book book3 = new Book();
-        book3.setAvailable(true);
-
-        List<Book> books = new ArrayList<>();
-        books.add(book);
-        books.add(book1);
-        books.add(book2);
-        books.add(book3);
-        Page<Book> page = new PageImpl<>(books);
+        List<BookData> books = new ArrayList<>();
+        books.add(new BookData("Things Fall Apart", "Chinua Achebe"));
+        books.add(new BookData("Arrow of God", "Chinua Achebe"));
+        books.add(new BookData("Half of a Yellow Sun", "Chimamanda Ngozi Adichie"));
+        books.add(new BookData("Purple Hibiscus", "Chimamanda Ngozi Adichie"));
 
         String email = "Naz@gmail.com";
         User mockUser = createUser();
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(bookRepository.findAllByAvailableTrue(pageable)).thenReturn(page);
+        when(bookRepository.findAvailableBookData(pageable)).thenReturn(books);
 
         ResponseEntity<ApiResponse<List<BookData>>> response = bookService.getAllBooks(0, 1);
 
@@ -173,6 +187,97 @@ class BookServiceImplementationTest {
     }
 
 
+    @Test
+    void scrollBooks_FirstSlice() {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+        book.setAvailable(true);
+
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findByAvailableTrueOrderByCreatedAtAscIdAsc(PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(book), PageRequest.of(0, 1), true));
+
+        ResponseEntity<ApiResponse<CursorPage<BookData>>> response = bookService.scrollBooks(null, 1);
+
+        assertNotNull(response);
+        assertEquals(200, response.getBody().getStatusCode());
+        assertEquals(1, response.getBody().getData().getContent().size());
+        assertTrue(response.getBody().getData().getHasNext());
+        assertEquals(CursorUtil.encode(book.getCreatedAt(), book.getId()),
+                response.getBody().getData().getNextCursor());
+    }
+
+
+    @Test
+    void scrollBooks_NextSlice() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        UUID id = UUID.randomUUID();
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findAvailableAfter(createdAt, id, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(new Book()), PageRequest.of(0, 10), false));
+
+        ResponseEntity<ApiResponse<CursorPage<BookData>>> response =
+                bookService.scrollBooks(CursorUtil.encode(createdAt, id), 10);
+
+        assertNotNull(response);
+        assertEquals(1, response.getBody().getData().getContent().size());
+        assertFalse(response.getBody().getData().getHasNext());
+        assertNull(response.getBody().getData().getNextCursor());
+    }
+
+
+    @Test
+    void scrollBooks_InvalidCursor() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> bookService.scrollBooks("not-a-cursor", 10));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+
+    @Test
+    void searchBooks_Success() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+
+        List<BookData> matches = List.of(new BookData("Introduction to Java", "Naztarr"));
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookSearchIndex.search("java intro", 0, 10)).thenReturn(matches);
+
+        ResponseEntity<ApiResponse<List<BookData>>> response = bookService.searchBooks("java intro", 0, 10);
+
+        assertNotNull(response);
+        assertEquals(200, response.getBody().getStatusCode());
+        assertEquals("Matching books successfully fetched", response.getBody().getMessage());
+        assertEquals(matches, response.getBody().getData());
+    }
+
+
+    @Test
+    void searchBooks_UserNotFound() {
+        String email = "Nz@gmail.com";
+        User mockedUser = mock(User.class);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockedUser));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> bookService.searchBooks("java", 0, 10));
+        assertEquals("User not found", exception.getMessage());
+    }
+
+
     @Test
     void viewBookDetail_Success() {
         String email = "Naz@gmail.com";
@@ -233,7 +338,7 @@ class BookServiceImplementationTest {
     @Test
     void updateBookDetail_Success() {
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Naz@gmail.com";
         User mockUser = createUser();
         mockUser.setRole(Role.ADMIN);
@@ -256,10 +361,53 @@ class BookServiceImplementationTest {
     }
 
 
+    @Test
+    void updateBookDetail_AddedCopiesGoToHolds() {
+        BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
+                2024L, "0689232738273", 3);
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setRole(Role.ADMIN);
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.updateCopies(book.getId(), 3)).thenReturn(1);
+        when(holdService.handOff(book)).thenReturn(true, false);
+
+        bookService.updateBookDetail(book.getId(), bookRequest);
+
+        verify(holdService, times(2)).handOff(book);
+        verify(bookSearchIndex).refreshAvailability(book.getId());
+    }
+
+    @Test
+    void updateBookDetail_CopiesOnLoan() {
+        BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
+                2024L, "0689232738273", 1);
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setRole(Role.ADMIN);
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.updateCopies(book.getId(), 1)).thenReturn(0);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> bookService.updateBookDetail(book.getId(), bookRequest));
+        assertEquals("Copies on loan or reserved for holds cannot be removed", exception.getMessage());
+        verify(holdService, never()).handOff(any(Book.class));
+    }
+
     @Test
     void updateBookDetail_UserNotFound() {
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Nz@gmail.com";
         User mockedUser = mock(User.class);
 
@@ -280,7 +428,7 @@ class BookServiceImplementationTest {
     @Test
     void updateBookDetail_BookNotFound(){
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         String email = "Naz@gmail.com";
         User mockUser = createUser();
 
@@ -303,7 +451,7 @@ class BookServiceImplementationTest {
         mockUser.setRole(Role.PATRON);
 
         BookRequest bookRequest = new BookRequest("Introduction to Java", "Naztarr",
-                2024L, "0689232738273");
+                2024L, "0689232738273", null);
         Book book = new Book();
         book.setId(UUID.randomUUID());
         book.setAvailable(true);
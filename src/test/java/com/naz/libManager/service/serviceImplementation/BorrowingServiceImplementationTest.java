@@ -3,16 +3,28 @@ package com.naz.libManager.service.serviceImplementation;
 import com.naz.libManager.entity.Book;
 import com.naz.libManager.entity.BookRecord;
 import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BorrowRecordData;
+import com.naz.libManager.payload.CursorPage;
 import com.naz.libManager.repository.BookRepository;
 import com.naz.libManager.repository.RecordRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import com.naz.libManager.service.HoldService;
+import com.naz.libManager.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -21,12 +33,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 class BorrowingServiceImplementationTest {
@@ -38,6 +53,12 @@ class BorrowingServiceImplementationTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private RecordRepository recordRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private HoldService holdService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private BorrowingServiceImplementation borrowingService;
 
@@ -75,8 +96,8 @@ class BorrowingServiceImplementationTest {
         book.setAvailable(true);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.claimCopy(book.getId())).thenReturn(1);
 
         ResponseEntity<ApiResponse<String>> response = borrowingService.borrowBook(book.getId(),
                 mockUser.getId());
@@ -85,6 +106,14 @@ class BorrowingServiceImplementationTest {
         assertEquals(200, response.getBody().getStatusCode());
         assertEquals(String.format("You have now borrowed '%s' by '%s'",
                 book.getTitle(), book.getAuthor()), response.getBody().getMessage());
+        ArgumentCaptor<BookRecord> recordCaptor = ArgumentCaptor.forClass(BookRecord.class);
+        verify(recordRepository).saveAndFlush(recordCaptor.capture());
+        assertSame(book, recordCaptor.getValue().getBook());
+        assertSame(mockUser, recordCaptor.getValue().getPatron());
+        assertEquals(book.getId(), recordCaptor.getValue().getOpenBookId());
+        verify(bookSearchIndex).refreshAvailability(book.getId());
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -98,7 +127,6 @@ class BorrowingServiceImplementationTest {
         book.setAvailable(true);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
 
         LibManagerException exception = assertThrows(LibManagerException.class,
@@ -115,7 +143,6 @@ class BorrowingServiceImplementationTest {
         UUID id = UUID.randomUUID();
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(id)).thenReturn(Optional.empty());
 
         LibManagerException exception = assertThrows(LibManagerException.class,
@@ -134,12 +161,99 @@ class BorrowingServiceImplementationTest {
         book.setAvailable(false);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.claimCopy(book.getId())).thenReturn(0);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> borrowingService.borrowBook(book.getId(), mockUser.getId()));
         assertEquals("This book is not available", exception.getMessage());
+        verify(recordRepository, never()).saveAndFlush(any(BookRecord.class));
+    }
+
+    @Test
+    void borrowBook_HeldForPatron() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setAvailable(false);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(holdService.claimHeldBook(book, mockUser)).thenReturn(true);
+
+        ResponseEntity<ApiResponse<String>> response = borrowingService.borrowBook(book.getId(),
+                mockUser.getId());
+
+        assertEquals(200, response.getBody().getStatusCode());
+        verify(recordRepository).saveAndFlush(any(BookRecord.class));
+        verify(bookRepository, never()).claimCopy(any(UUID.class));
+        verify(bookSearchIndex, never()).refreshAvailability(any(UUID.class));
+    }
+
+    @Test
+    void borrowBook_OtherCopiesRemain() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTotalCopies(3);
+        book.setAvailableCopies(3);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.claimCopy(book.getId())).thenReturn(1);
+        when(bookRepository.isAvailable(book.getId())).thenReturn(true);
+
+        borrowingService.borrowBook(book.getId(), mockUser.getId());
+
+        verify(recordRepository).saveAndFlush(any(BookRecord.class));
+        verify(bookSearchIndex, never()).refreshAvailability(any(UUID.class));
+    }
+
+    @Test
+    void borrowBook_AlreadyBorrowed() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.existsByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(true);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.borrowBook(book.getId(), mockUser.getId()));
+        assertEquals("You have already borrowed this book", exception.getMessage());
+        verify(bookRepository, never()).claimCopy(any(UUID.class));
+    }
+
+    @Test
+    void borrowBook_ConcurrentDuplicateBorrow() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.existsByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(false);
+        when(bookRepository.claimCopy(book.getId())).thenReturn(1);
+        when(recordRepository.saveAndFlush(any(BookRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("record_open_loan_idx"));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.borrowBook(book.getId(), mockUser.getId()));
+        assertEquals("You have already borrowed this book", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -156,7 +270,6 @@ class BorrowingServiceImplementationTest {
         book.setAvailable(true);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findById(patron.getId())).thenReturn(Optional.of(patron));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
 
         LibManagerException exception = assertThrows(LibManagerException.class,
@@ -173,16 +286,17 @@ class BorrowingServiceImplementationTest {
         Book book = new Book();
         book.setId(UUID.randomUUID());
         book.setAvailable(true);
-        book.setBorrower(mockUser);
 
         BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
         bookRecord.setBook(book);
         bookRecord.setReturned(false);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(recordRepository.findByBook(book)).thenReturn(bookRecord);
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(bookRecord);
+        when(recordRepository.closeLoan(eq(bookRecord.getId()), any(LocalDateTime.class))).thenReturn(1);
 
         ResponseEntity<ApiResponse<String>> response = borrowingService.returnBook(book.getId(),
                 mockUser.getId());
@@ -191,6 +305,80 @@ class BorrowingServiceImplementationTest {
         assertEquals(200, response.getBody().getStatusCode());
         assertEquals(String.format("You have successfully returned '%s' by '%s'",
                 book.getTitle(), book.getAuthor()), response.getBody().getMessage());
+        verify(recordRepository).closeLoan(eq(bookRecord.getId()), any(LocalDateTime.class));
+        verify(bookRepository).releaseCopy(book.getId());
+        verify(bookSearchIndex).refreshAvailability(book.getId());
+    }
+
+    @Test
+    void returnBook_ReservedForHold() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setAvailable(false);
+
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
+        bookRecord.setBook(book);
+        bookRecord.setReturned(false);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(bookRecord);
+        when(recordRepository.closeLoan(eq(bookRecord.getId()), any(LocalDateTime.class))).thenReturn(1);
+        when(holdService.handOff(book)).thenReturn(true);
+
+        borrowingService.returnBook(book.getId(), mockUser.getId());
+
+        verify(bookRepository).releaseCopy(book.getId());
+        verify(bookSearchIndex, never()).refreshAvailability(any(UUID.class));
+    }
+
+    @Test
+    void returnBook_ReturnedConcurrently() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
+        bookRecord.setBook(book);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(bookRecord);
+        when(recordRepository.closeLoan(eq(bookRecord.getId()), any(LocalDateTime.class))).thenReturn(0);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.returnBook(book.getId(), mockUser.getId()));
+        assertEquals("This book has been returned", exception.getMessage());
+        verify(bookRepository, never()).releaseCopy(any(UUID.class));
+    }
+
+    @Test
+    void returnBook_AlreadyReturned() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setAvailable(true);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(null);
+        when(recordRepository.existsByBookIdAndPatronId(book.getId(), mockUser.getId())).thenReturn(true);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.returnBook(book.getId(), mockUser.getId()));
+        assertEquals("This book has been returned", exception.getMessage());
     }
 
     @Test
@@ -202,16 +390,16 @@ class BorrowingServiceImplementationTest {
         Book book = new Book();
         book.setId(UUID.randomUUID());
         book.setAvailable(true);
-        book.setBorrower(mockUser);
 
         BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
         bookRecord.setBook(book);
         bookRecord.setReturned(false);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(recordRepository.findByBook(book)).thenReturn(bookRecord);
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(bookRecord);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> borrowingService.borrowBook(book.getId(), mockUser.getId()));
@@ -248,7 +436,7 @@ class BorrowingServiceImplementationTest {
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(recordRepository.findByBook(book)).thenReturn(null);
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(null);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> borrowingService.returnBook(book.getId(), mockUser.getId()));
@@ -272,7 +460,7 @@ class BorrowingServiceImplementationTest {
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(recordRepository.findByBook(book)).thenReturn(null);
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(null);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> borrowingService.returnBook(book.getId(), mockUser.getId()));
@@ -290,6 +478,7 @@ class BorrowingServiceImplementationTest {
         book.setAvailable(false);
 
         BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
         bookRecord.setBook(book);
         bookRecord.setReturned(false);
 
@@ -299,10 +488,116 @@ class BorrowingServiceImplementationTest {
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(patron.getId())).thenReturn(Optional.of(patron));
         when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(recordRepository.findByBook(book)).thenReturn(bookRecord);
+        when(recordRepository.findByPatronIdAndOpenBookId(mockUser.getId(), book.getId())).thenReturn(bookRecord);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> borrowingService.returnBook(book.getId(), patron.getId()));
         assertEquals("You are not authorized to do this", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPatronHistory_Self() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.PATRON);
+
+        Book book = new Book();
+        book.setTitle("Things Fall Apart");
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setBook(book);
+        bookRecord.setPatron(mockUser);
+        bookRecord.setReturned(true);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(recordRepository.findPatronHistory(eq(mockUser.getId()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(bookRecord)));
+
+        ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> response =
+                borrowingService.getPatronHistory(mockUser.getId(), null, 500);
+
+        assertEquals("Borrow history successfully fetched", response.getBody().getMessage());
+        assertEquals(1, response.getBody().getData().getContent().size());
+        assertEquals("Things Fall Apart", response.getBody().getData().getContent().get(0).getBook().getTitle());
+        assertFalse(response.getBody().getData().getHasNext());
+        assertNull(response.getBody().getData().getNextCursor());
+        verify(recordRepository).findPatronHistory(mockUser.getId(), PageRequest.of(0, 100));
+    }
+
+    @Test
+    void getPatronHistory_SeeksPastCursor() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.PATRON);
+
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        UUID lastId = UUID.randomUUID();
+        BookRecord bookRecord = new BookRecord();
+        bookRecord.setId(UUID.randomUUID());
+        bookRecord.setBook(new Book());
+        bookRecord.setBorrowedAt(borrowedAt.minusDays(1));
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(recordRepository.findPatronHistoryBefore(eq(mockUser.getId()), eq(borrowedAt), eq(lastId),
+                any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(bookRecord), PageRequest.of(0, 1), true));
+
+        ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> response = borrowingService.getPatronHistory(
+                mockUser.getId(), CursorUtil.encode(borrowedAt, lastId), 1);
+
+        CursorPage<BorrowRecordData> page = response.getBody().getData();
+        assertTrue(page.getHasNext());
+        CursorUtil.Position next = CursorUtil.decode(page.getNextCursor());
+        assertEquals(bookRecord.getBorrowedAt(), next.createdAt());
+        assertEquals(bookRecord.getId(), next.id());
+        verify(recordRepository, never()).findPatronHistory(any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    void getPatronHistory_Unauthorized() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.PATRON);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.getPatronHistory(UUID.randomUUID(), null, 10));
+        assertEquals("You are not authorized to view this information", exception.getMessage());
+        verify(recordRepository, never()).findPatronHistory(any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    void getBookHistory_Admin() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.ADMIN);
+        UUID bookId = UUID.randomUUID();
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(recordRepository.findBookHistory(eq(bookId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        ResponseEntity<ApiResponse<CursorPage<BorrowRecordData>>> response =
+                borrowingService.getBookHistory(bookId, null, 20);
+
+        assertEquals("Circulation history successfully fetched", response.getBody().getMessage());
+        verify(recordRepository).findBookHistory(bookId, PageRequest.of(0, 20));
+    }
+
+    @Test
+    void getBookHistory_Unauthorized() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.PATRON);
+
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> borrowingService.getBookHistory(UUID.randomUUID(), null, 10));
+        assertEquals("You are not authorized to view this information", exception.getMessage());
+    }
+}
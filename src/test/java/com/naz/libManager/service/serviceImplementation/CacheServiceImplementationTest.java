@@ -0,0 +1,89 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.naz.libManager.config.CacheConfiguration;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.Role;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.CacheStatistics;
+import com.naz.libManager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class CacheServiceImplementationTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private CacheManager cacheManager;
+    private CacheServiceImplementation cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfiguration().cacheManager("maximumSize=2", "maximumSize=2",
+                "maximumSize=2", "maximumSize=2");
+        cacheService = new CacheServiceImplementation(userRepository, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(Role role) {
+        User user = new User();
+        user.setEmailAddress("Naz@gmail.com");
+        user.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    @Test
+    void cacheManager_OnlyProvidesConfiguredCaches() {
+        assertEquals(4, cacheManager.getCacheNames().size());
+        assertNull(cacheManager.getCache("book"));
+    }
+
+    @Test
+    void getCacheStatistics_Success() {
+        authenticate(Role.ADMIN);
+        Cache bookDetail = cacheManager.getCache(CacheConfiguration.BOOK_DETAIL);
+        bookDetail.put("a", "book");
+        bookDetail.get("a");
+        bookDetail.get("b");
+
+        ResponseEntity<ApiResponse<List<CacheStatistics>>> response = cacheService.getCacheStatistics();
+
+        assertEquals(200, response.getBody().getStatusCode());
+        assertEquals("Cache statistics successfully fetched", response.getBody().getMessage());
+        CacheStatistics statistics = response.getBody().getData().stream()
+                .filter(cache -> cache.getName().equals(CacheConfiguration.BOOK_DETAIL))
+                .findFirst().orElseThrow();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    void getCacheStatistics_Unauthorized() {
+        authenticate(Role.PATRON);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> cacheService.getCacheStatistics());
+        assertEquals("You are not authorized to view this information", exception.getMessage());
+    }
+}
@@ -0,0 +1,149 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.naz.libManager.entity.EmailOutbox;
+import com.naz.libManager.enums.MailStatus;
+import com.naz.libManager.repository.EmailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The EmailImplementationTest class contains test cases for queueing and dispatching outbound mail.
+ */
+@ExtendWith(SpringExtension.class)
+class EmailImplementationTest {
+    @Mock
+    private JavaMailSender mailSender;
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private EmailImplementation emailImplementation;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailImplementation, "sender", "libmanager@gmail.com");
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    private EmailOutbox queuedMail(String recipient, int attempts) {
+        EmailOutbox mail = new EmailOutbox();
+        mail.setRecipient(recipient);
+        mail.setSubject("Verify your email address");
+        mail.setBody("<p>Welcome</p>");
+        mail.setAttempts(attempts);
+        mail.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+        return mail;
+    }
+
+    @Test
+    void queueMail_SavesPendingMailWithoutSending() {
+        emailImplementation.queueMail("<p>Welcome</p>", "Verify your email address", "Naz@gmail.com");
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        assertEquals(MailStatus.PENDING, captor.getValue().getStatus());
+        assertEquals("Naz@gmail.com", captor.getValue().getRecipient());
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void dispatchQueuedMail_SendsBatchInOneCall() {
+        EmailOutbox first = queuedMail("Naz@gmail.com", 0);
+        EmailOutbox second = queuedMail("test101@gmail.com", 0);
+        when(emailOutboxRepository.lockDueMail(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        emailImplementation.dispatchQueuedMail();
+
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        assertEquals(MailStatus.SENT, first.getStatus());
+        assertEquals(MailStatus.SENT, second.getStatus());
+    }
+
+    @Test
+    void dispatchQueuedMail_BacksOffFailedMessages() {
+        EmailOutbox sent = queuedMail("Naz@gmail.com", 0);
+        EmailOutbox failed = queuedMail("test101@gmail.com", 2);
+        when(emailOutboxRepository.lockDueMail(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(sent, failed));
+        doAnswer(invocation -> {
+            Object[] messages = invocation.getArguments();
+            throw new MailSendException(Map.of(messages[1], new Exception("Mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        emailImplementation.dispatchQueuedMail();
+
+        assertEquals(MailStatus.SENT, sent.getStatus());
+        assertEquals(MailStatus.PENDING, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        assertEquals("Mailbox unavailable", failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    void dispatchQueuedMail_GivesUpAfterMaxAttempts() {
+        EmailOutbox mail = queuedMail("Naz@gmail.com", 7);
+        when(emailOutboxRepository.lockDueMail(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(mail));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        emailImplementation.dispatchQueuedMail();
+
+        assertEquals(MailStatus.FAILED, mail.getStatus());
+        assertEquals(8, mail.getAttempts());
+    }
+
+    /**
+     * Tests that the batch is claimed and committed before the mail server is called, and that the results
+     * are recorded in a transaction of their own.
+     */
+    @Test
+    void dispatchQueuedMail_SendsOutsideTransaction() {
+        EmailOutbox mail = queuedMail("Naz@gmail.com", 0);
+        when(emailOutboxRepository.lockDueMail(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(mail));
+        doAnswer(invocation -> {
+            assertEquals(MailStatus.SENDING, mail.getStatus());
+            assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(5)));
+            verify(transactionManager, times(1)).commit(any());
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        emailImplementation.dispatchQueuedMail();
+
+        assertEquals(MailStatus.SENT, mail.getStatus());
+        verify(transactionManager, times(2)).commit(any());
+        verify(emailOutboxRepository, times(2)).saveAll(List.of(mail));
+    }
+
+    @Test
+    void purgeFinishedMail_DeletesMailPastRetention() {
+        emailImplementation.purgeFinishedMail();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).deleteFinishedBefore(captor.capture());
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import com.naz.libManager.entity.Book;
+import com.naz.libManager.entity.Hold;
+import com.naz.libManager.entity.User;
+import com.naz.libManager.enums.HoldStatus;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.repository.BookRepository;
+import com.naz.libManager.repository.HoldRepository;
+import com.naz.libManager.repository.RecordRepository;
+import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class HoldServiceImplementationTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private HoldRepository holdRepository;
+    @Mock
+    private RecordRepository recordRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private EmailImplementation emailImplementation;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private HoldServiceImplementation holdService;
+
+    private User user;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("Naz@gmail.com", "naztarr$"));
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setFirstName("Naz");
+        user.setEmailAddress("Naz@gmail.com");
+        when(userRepository.findByEmailAddress("Naz@gmail.com")).thenReturn(Optional.of(user));
+
+        book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle("Things Fall Apart");
+        book.setAuthor("Chinua Achebe");
+        book.setAvailable(false);
+        book.setAvailableCopies(0);
+    }
+
+    @Test
+    void placeHold() {
+        when(bookRepository.lockById(book.getId())).thenReturn(Optional.of(book));
+
+        holdService.placeHold(book.getId());
+
+        verify(holdRepository).saveAndFlush(argThat(hold -> hold.getBook() == book && hold.getPatron() == user
+                && hold.getStatus() == HoldStatus.WAITING));
+    }
+
+    @Test
+    void placeHold_BookAvailable() {
+        book.setAvailable(true);
+        book.setAvailableCopies(1);
+        when(bookRepository.lockById(book.getId())).thenReturn(Optional.of(book));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> holdService.placeHold(book.getId()));
+        assertEquals("This book is available to borrow", exception.getMessage());
+        verify(holdRepository, never()).saveAndFlush(any(Hold.class));
+    }
+
+    @Test
+    void placeHold_AlreadyBorrowed() {
+        when(bookRepository.lockById(book.getId())).thenReturn(Optional.of(book));
+        when(recordRepository.existsByPatronIdAndOpenBookId(user.getId(), book.getId())).thenReturn(true);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> holdService.placeHold(book.getId()));
+        assertEquals("You have already borrowed this book", exception.getMessage());
+    }
+
+    @Test
+    void placeHold_AlreadyHeld() {
+        when(bookRepository.lockById(book.getId())).thenReturn(Optional.of(book));
+        when(holdRepository.existsByBookIdAndPatronIdAndActiveTrue(book.getId(), user.getId())).thenReturn(true);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> holdService.placeHold(book.getId()));
+        assertEquals("You already have a hold on this book", exception.getMessage());
+    }
+
+    @Test
+    void handOff_NotifiesQueueHead() {
+        Hold hold = new Hold();
+        hold.setBook(book);
+        hold.setPatron(user);
+        when(holdRepository.lockQueueHead(eq(book.getId()), any(Pageable.class))).thenReturn(List.of(hold));
+        when(bookRepository.claimCopy(book.getId())).thenReturn(1);
+
+        assertTrue(holdService.handOff(book));
+        assertEquals(HoldStatus.READY, hold.getStatus());
+        assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now()));
+        verify(emailImplementation).queueMail(anyString(), anyString(), eq("Naz@gmail.com"));
+    }
+
+    @Test
+    void handOff_NobodyWaiting() {
+        when(holdRepository.lockQueueHead(eq(book.getId()), any(Pageable.class))).thenReturn(List.of());
+
+        assertFalse(holdService.handOff(book));
+        verify(bookRepository, never()).claimCopy(any(UUID.class));
+        verifyNoInteractions(emailImplementation);
+    }
+
+    @Test
+    void cancelHold_ReadyHoldShelvesBook() {
+        Hold hold = new Hold();
+        hold.setId(UUID.randomUUID());
+        hold.setBook(book);
+        hold.setPatron(user);
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.cancel(hold.getId(), HoldStatus.READY)).thenReturn(1);
+        when(holdRepository.lockQueueHead(eq(book.getId()), any(Pageable.class))).thenReturn(List.of());
+
+        holdService.cancelHold(hold.getId());
+
+        verify(bookRepository).releaseCopy(book.getId());
+        verify(bookSearchIndex).refreshAvailability(book.getId());
+    }
+
+    @Test
+    void cancelHold_Unauthorized() {
+        User other = new User();
+        other.setId(UUID.randomUUID());
+        Hold hold = new Hold();
+        hold.setId(UUID.randomUUID());
+        hold.setBook(book);
+        hold.setPatron(other);
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> holdService.cancelHold(hold.getId()));
+        assertEquals("You are not authorized to do this", exception.getMessage());
+        verify(holdRepository, never()).cancel(any(UUID.class), any(HoldStatus.class));
+    }
+}
@@ -0,0 +1,56 @@
+package com.naz.libManager.service.serviceImplementation;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JwtImplementationTest class contains test cases for issuing and verifying tokens.
+ */
+class JwtImplementationTest {
+    private static final String SECRET = "bGlibWFuYWdlci10ZXN0LXNlY3JldC1rZXktMDAwMDE=";
+
+    private final JwtImplementation jwtImplementation = new JwtImplementation(SECRET, 100);
+
+    private String generateToken(Long expiry) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("first_name", "Naz");
+        return jwtImplementation.generateJwtToken(claims, "Naz@gmail.com", expiry);
+    }
+
+    @Test
+    void extractEmailAddressFromToken_Success() {
+        String token = generateToken(null);
+
+        assertEquals("Naz@gmail.com", jwtImplementation.extractEmailAddressFromToken(token));
+        assertFalse(jwtImplementation.isExpired(token));
+    }
+
+    @Test
+    void getAllClaims_VerifiesTokenOnce() {
+        String token = generateToken(900000L);
+
+        assertSame(jwtImplementation.getAllClaims(token), jwtImplementation.getAllClaims(token));
+    }
+
+    @Test
+    void getAllClaims_RejectsTokenSignedWithAnotherKey() {
+        JwtImplementation otherIssuer = new JwtImplementation(
+                "bGlibWFuYWdlci10ZXN0LXNlY3JldC1rZXktMDAwMDI=", 100);
+        String token = otherIssuer.generateJwtToken(new HashMap<>(), "Naz@gmail.com", null);
+
+        assertThrows(SignatureException.class, () -> jwtImplementation.extractEmailAddressFromToken(token));
+    }
+
+    @Test
+    void getAllClaims_RejectsExpiredToken() {
+        String token = generateToken(-1000L);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtImplementation.isExpired(token));
+    }
+}
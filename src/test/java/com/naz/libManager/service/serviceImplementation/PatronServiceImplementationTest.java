@@ -1,22 +1,30 @@
 package com.naz.libManager.service.serviceImplementation;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.config.CatalogCache;
 import com.naz.libManager.dto.UserRequest;
 import com.naz.libManager.entity.User;
 import com.naz.libManager.enums.Role;
+import com.naz.libManager.event.PrincipalChangedEvent;
 import com.naz.libManager.exception.LibManagerException;
 import com.naz.libManager.payload.ApiResponse;
+import com.naz.libManager.payload.BookData;
 import com.naz.libManager.payload.PatronDetail;
 import com.naz.libManager.payload.UserData;
+import com.naz.libManager.repository.RecordRepository;
 import com.naz.libManager.repository.UserRepository;
+import com.naz.libManager.service.HoldService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.Spy;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -32,6 +40,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -39,6 +49,14 @@ class PatronServiceImplementationTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private RecordRepository recordRepository;
+    @Mock
+    private HoldService holdService;
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(new NoOpCacheManager(), new ObjectMapper());
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private PasswordEncoder passwordEncoder;
     @InjectMocks
     private PatronServiceImplementation patronService;
@@ -70,27 +88,17 @@ class PatronServiceImplementationTest {
     void testGetAllPatrons_Success() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        User user = new User();
-        user.setRole(Role.PATRON);
-        User user1 = new User();
-        user1.setRole(Role.PATRON);
-        User user2 = new User();
-        user2.setRole(Role.ADMIN);
-        User user3 = new User();
-        user3.setRole(Role.PATRON);
-
-        List<User> users = new ArrayList<>();
-        users.add(user);
-        users.add(user1);
-        users.add(user3);
-        Page<User> page = new PageImpl<>(users);
+        List<UserData> users = new ArrayList<>();
+        users.add(new UserData("Naz", "Star", "naz@gmail.com", "09037136349"));
+        users.add(new UserData("Ada", "Obi", "ada@gmail.com", "08012345678"));
+        users.add(new UserData("Emeka", "Eze", "emeka@gmail.com", "07012345678"));
 
         String email = "Naz@gmail.com";
         User mockUser = createUser();
         mockUser.setRole(Role.ADMIN);
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
-        when(userRepository.findAllPatrons(pageable)).thenReturn(page);
+        when(userRepository.findPatronData(pageable)).thenReturn(users);
         ResponseEntity<ApiResponse<List<UserData>>> response = patronService.getAllPatrons(0, 10);
 
         assertNotNull(response);
@@ -106,23 +114,13 @@ class PatronServiceImplementationTest {
     void testGetAllPatrons_UserNotFound() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        User user = new User();
-        user.setRole(Role.PATRON);
-        User user1 = new User();
-        user1.setRole(Role.PATRON);
-        User user2 = new User();
-        user2.setRole(Role.ADMIN);
-        User user3 = new User();
-        user3.setRole(Role.PATRON);
+        List<UserData> users = new ArrayList<>();
+        users.add(new UserData("Naz", "Star", "naz@gmail.com", "09037136349"));
+        users.add(new UserData("Ada", "Obi", "ada@gmail.com", "08012345678"));
+        users.add(new UserData("Emeka", "Eze", "emeka@gmail.com", "07012345678"));
 
-        List<User> users = new ArrayList<>();
-        users.add(user);
-        users.add(user1);
-        users.add(user3);
-        Page<User> page = new PageImpl<>(users);
 
-
-        when(userRepository.findAllPatrons(pageable)).thenReturn(page);
+        when(userRepository.findPatronData(pageable)).thenReturn(users);
 
         LibManagerException exception = assertThrows(LibManagerException.class,
                 () -> patronService.getAllPatrons(0, 1));
@@ -144,12 +142,16 @@ class PatronServiceImplementationTest {
 
         when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
         when(userRepository.findById(mockUser1.getId())).thenReturn(Optional.of(mockUser1));
-        ResponseEntity<ApiResponse<PatronDetail>> response = patronService.viewPatronDetail(mockUser1.getId());
+        when(recordRepository.findCurrentLoans(mockUser1.getId(), PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(new BookData("Things Fall Apart", "Chinua Achebe"))));
+        ResponseEntity<ApiResponse<PatronDetail>> response = patronService.viewPatronDetail(mockUser1.getId(), 0, 10);
 
         assertNotNull(response);
         assertNotNull(response.getBody().getData());
         assertEquals(200, response.getBody().getStatusCode());
         assertEquals("patron details successfully fetched", response.getBody().getMessage());
+        assertEquals(1, response.getBody().getData().getBooksBorrowed().size());
+        assertEquals("Things Fall Apart", response.getBody().getData().getBooksBorrowed().get(0).getTitle());
 
 
     }
@@ -169,7 +171,7 @@ class PatronServiceImplementationTest {
         when(userRepository.findById(mockUser1.getId())).thenReturn(Optional.of(mockUser1));
 
         LibManagerException exception = assertThrows(LibManagerException.class,
-                () -> patronService.viewPatronDetail(mockUser1.getId()));
+                () -> patronService.viewPatronDetail(mockUser1.getId(), 0, 10));
         assertEquals("You are not authorized to view this information", exception.getMessage());
 
 
@@ -260,7 +262,27 @@ class PatronServiceImplementationTest {
         assertNotNull(response);
         assertEquals(200, response.getBody().getStatusCode());
         assertEquals("You have been removed", response.getBody().getMessage());
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(email));
+        verify(holdService).cancelActiveHolds(mockUser.getId());
+
+    }
+
+    @Test
+    void removePatron_HasBorrowedBooks() {
+        String email = "Naz@gmail.com";
+        User mockUser = createUser();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setRole(Role.PATRON);
 
+        when(userRepository.findByEmailAddress(email)).thenReturn(Optional.of(mockUser));
+        when(userRepository.findById(mockUser.getId())).thenReturn(Optional.of(mockUser));
+        when(recordRepository.existsByPatronIdAndOpenBookIdNotNull(mockUser.getId())).thenReturn(true);
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> patronService.removePatron(mockUser.getId()));
+        assertEquals("All borrowed books must be returned before the patron is removed", exception.getMessage());
+        verify(userRepository, never()).deleteById(mockUser.getId());
+        verify(holdService, never()).cancelActiveHolds(mockUser.getId());
     }
 
     @Test
@@ -0,0 +1,90 @@
+package com.naz.libManager.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naz.libManager.exception.LibManagerException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The BookImportReaderTest class contains test cases for parsing CSV and NDJSON import files.
+ */
+class BookImportReaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookImportReader open(String content, String contentType) {
+        return BookImportReader.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                contentType, objectMapper);
+    }
+
+    @Test
+    void csv_ParsesQuotedFieldsInHeaderOrder() throws IOException {
+        String csv = "isbn,title,author,publicationYear\r\n" +
+                "9780385474542,\"Things Fall Apart\",Chinua Achebe,1958\r\n" +
+                "\r\n" +
+                "0689232738273,\"Java, \"\"the\"\" good\nparts\",Naztarr,2024\n";
+
+        try (BookImportReader reader = open(csv, "text/csv; charset=UTF-8")) {
+            BookImportReader.Row first = reader.next();
+            assertEquals(1, first.number());
+            assertEquals("Things Fall Apart", first.request().title());
+            assertEquals("Chinua Achebe", first.request().author());
+            assertEquals(1958L, first.request().publicationYear());
+            assertEquals("9780385474542", first.request().isbn());
+
+            BookImportReader.Row second = reader.next();
+            assertEquals(2, second.number());
+            assertEquals("Java, \"the\" good\nparts", second.request().title());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csv_ReportsMalformedRowsAndContinues() throws IOException {
+        String csv = "title,author,publicationYear,isbn\n" +
+                "Title,Author,soon,0689232738273\n" +
+                "Title,Author\n" +
+                "Other title,Author,2024,0689232738273\n";
+
+        try (BookImportReader reader = open(csv, "text/csv")) {
+            assertEquals("Publication year must be a number", reader.next().error());
+            assertEquals("Expected 4 columns but found 2", reader.next().error());
+            assertEquals("Other title", reader.next().request().title());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csv_RequiresTitleAndAuthorColumns() {
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> open("name,isbn\nTitle,0689232738273\n", "text/csv").next());
+        assertEquals("The CSV header must name the title and author columns", exception.getMessage());
+    }
+
+    @Test
+    void ndjson_ParsesRowsAndReportsMalformedLines() throws IOException {
+        String ndjson = "{\"title\":\"Things Fall Apart\",\"author\":\"Chinua Achebe\",\"publicationYear\":1958,\"isbn\":\"9780385474542\"}\n" +
+                "\n" +
+                "{\"title\": \n";
+
+        try (BookImportReader reader = open(ndjson, "application/x-ndjson")) {
+            assertEquals("Things Fall Apart", reader.next().request().title());
+            BookImportReader.Row malformed = reader.next();
+            assertEquals(2, malformed.number());
+            assertEquals("Malformed JSON row", malformed.error());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void open_RejectsUnsupportedFormat() {
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> open("", "application/xml"));
+        assertEquals("Unsupported import format, use text/csv or application/x-ndjson", exception.getMessage());
+    }
+}
@@ -0,0 +1,64 @@
+package com.naz.libManager.util;
+
+import com.naz.libManager.entity.User;
+import com.naz.libManager.exception.LibManagerException;
+import com.naz.libManager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * The UserUtilTest class contains test cases for resolving the authenticated user.
+ */
+@ExtendWith(SpringExtension.class)
+class UserUtilTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getAuthenticatedUser_UsesPrincipalLoadedByFilter() {
+        User user = new User();
+        user.setEmailAddress("Naz@gmail.com");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+
+        assertSame(user, UserUtil.getAuthenticatedUser(userRepository));
+        verify(userRepository, never()).findByEmailAddress(anyString());
+    }
+
+    @Test
+    void getAuthenticatedUser_LooksUpOtherPrincipals() {
+        User user = new User();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("Naz@gmail.com", "naztarr$"));
+        when(userRepository.findByEmailAddress("Naz@gmail.com")).thenReturn(Optional.of(user));
+
+        assertSame(user, UserUtil.getAuthenticatedUser(userRepository));
+    }
+
+    @Test
+    void getAuthenticatedUser_UserNotFound() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("Nz@gmail.com", "naztarr$"));
+
+        LibManagerException exception = assertThrows(LibManagerException.class,
+                () -> UserUtil.getAuthenticatedUser(userRepository));
+        assertEquals("User not found", exception.getMessage());
+    }
+}
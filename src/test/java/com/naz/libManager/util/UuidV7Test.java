@@ -0,0 +1,93 @@
+package com.naz.libManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The UuidV7Test class contains test cases for time-ordered UUID generation.
+ */
+class UuidV7Test {
+
+    /**
+     * Tests that generated ids carry the version 7 and RFC 9562 variant bits and the current time.
+     */
+    @Test
+    void generate_VersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestamp(uuid) >= before);
+        assertTrue(UuidV7.timestamp(uuid) <= after + 1);
+    }
+
+    /**
+     * Tests that consecutive ids strictly increase, including far more than fit in one millisecond's counter.
+     */
+    @Test
+    void generate_StrictlyIncreasing() {
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.generate();
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " is not before " + next);
+            previous = next;
+        }
+    }
+
+    /**
+     * Tests that ids generated concurrently are unique and increase within each thread.
+     */
+    @Test
+    void generate_ConcurrentlyUniqueAndOrdered() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Callable<List<UUID>> task = () -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(UuidV7.generate());
+                }
+                return ids;
+            };
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(task));
+            }
+
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compares UUIDs the way PostgreSQL and H2 order them, byte by byte, unlike UUID.compareTo which is signed.
+     */
+    private static int compareUnsigned(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}